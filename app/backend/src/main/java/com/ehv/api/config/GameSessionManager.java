@@ -2,14 +2,17 @@ package com.ehv.api.config;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketSession;
 
 import com.ehv.api.lobby.LobbyGameId;
+import com.ehv.battleship.model.FleetLayoutSolver;
 
 @Component
 public class GameSessionManager {
@@ -18,51 +21,40 @@ public class GameSessionManager {
     private static final long FORFEIT_GRACE_MS = 60000L;
     private static final long LOBBY_IDLE_EVICTION_MS = 5L * 60L * 1000L;
 
-    // Map gameId -> GameSession
-    private final Map<String, GameSession> games = new ConcurrentHashMap<>();
-    // Map sessionId -> gameId
-    private final Map<String, String> playerToGame = new ConcurrentHashMap<>();
-    // Map sessionId -> playerNumber
-    private final Map<String, Integer> sessionToPlayer = new ConcurrentHashMap<>();
-    // Map gameId -> lobby config snapshot
-    private final Map<String, LobbyConfigSnapshot> lobbyConfigByGameId = new ConcurrentHashMap<>();
+    // Salons par gameId, et pour chaque socket liee : son salon et son siege
+    private final SessionDirectory directory = new SessionDirectory();
+    // Echeances d'annonce de deconnexion / forfait, et d'eviction des salons vides
+    private final PresenceTimers presenceTimers = new PresenceTimers();
+    private final PresenceTimers idleTimers = new PresenceTimers();
 
     private static String normalizeGameId(String gameId) {
         return LobbyGameId.normalize(gameId);
     }
 
-    private String allocateGameId() {
+    public GameSession createGame(int maxPlayers, WebSocketSession hostSession) {
         for (int attempt = 0; attempt < 64; attempt++) {
-            String candidate = LobbyGameId.generate();
-            if (!games.containsKey(candidate)) {
-                return candidate;
+            GameSession session = new GameSession(
+                LobbyGameId.generate(), maxPlayers, hostSession.getId(), presenceTimers, idleTimers);
+            if (directory.addLobby(session)) {
+                session.bindPlayer(1, hostSession);
+                directory.bind(hostSession.getId(), session, 1);
+                return session;
             }
         }
         throw new IllegalStateException("Unable to allocate a unique lobby game id");
     }
 
-    public GameSession createGame(int maxPlayers, WebSocketSession hostSession) {
-        String gameId = allocateGameId();
-        GameSession session = new GameSession(gameId, maxPlayers, hostSession.getId());
-        games.put(gameId, session);
-        session.bindPlayer(1, hostSession);
-        playerToGame.put(hostSession.getId(), gameId);
-        sessionToPlayer.put(hostSession.getId(), 1);
-        lobbyConfigByGameId.put(gameId, LobbyConfigSnapshot.defaultFor(maxPlayers));
-        return session;
-    }
-
     public JoinResult joinGame(String gameId, WebSocketSession playerSession, Integer preferredPlayerNumber) {
         String normalizedGameId = normalizeGameId(gameId);
         if (normalizedGameId == null) {
             return null;
         }
-        String currentGameId = playerToGame.get(playerSession.getId());
-        if (currentGameId != null && !currentGameId.equals(normalizedGameId)) {
+        SessionDirectory.Binding current = directory.binding(playerSession.getId());
+        if (current != null && !current.lobby().getGameId().equals(normalizedGameId)) {
             leaveGame(playerSession);
         }
 
-        GameSession game = games.get(normalizedGameId);
+        GameSession game = directory.lobby(normalizedGameId);
         if (game == null) {
             return null;
         }
@@ -70,8 +62,7 @@ public class GameSessionManager {
         if (assignedPlayer == null) {
             return null;
         }
-        playerToGame.put(playerSession.getId(), normalizedGameId);
-        sessionToPlayer.put(playerSession.getId(), assignedPlayer);
+        directory.bind(playerSession.getId(), game, assignedPlayer);
         return new JoinResult(game, assignedPlayer, preferredPlayerNumber != null && preferredPlayerNumber.equals(assignedPlayer));
     }
 
@@ -79,35 +70,29 @@ public class GameSessionManager {
         if (playerSession == null) {
             return null;
         }
-        String gameId = playerToGame.remove(playerSession.getId());
-        Integer playerNumber = sessionToPlayer.remove(playerSession.getId());
-        if (gameId != null) {
-            GameSession session = games.get(gameId);
-            if (session != null) {
-                int effectivePlayer = playerNumber != null ? playerNumber : session.getPlayerNumber(playerSession);
-                if (effectivePlayer > 0) {
-                    session.markDisconnected(effectivePlayer);
-                    return new LeaveResult(gameId, effectivePlayer);
-                }
-            }
+        SessionDirectory.Binding binding = directory.unbind(playerSession.getId());
+        if (binding == null) {
+            return null;
         }
-        return null;
+        binding.lobby().markDisconnected(binding.playerNumber());
+        return new LeaveResult(binding.lobby().getGameId(), binding.playerNumber());
     }
 
     public GameSession getGameByPlayer(WebSocketSession playerSession) {
-        String gameId = playerToGame.get(playerSession.getId());
-        return gameId != null ? games.get(gameId) : null;
+        SessionDirectory.Binding binding = directory.binding(playerSession.getId());
+        return binding != null ? binding.lobby() : null;
     }
 
     public GameSession getGame(String gameId) {
-        return games.get(normalizeGameId(gameId));
+        return directory.lobby(normalizeGameId(gameId));
     }
 
     public Integer getPlayerNumber(WebSocketSession session) {
         if (session == null) {
             return null;
         }
-        return sessionToPlayer.get(session.getId());
+        SessionDirectory.Binding binding = directory.binding(session.getId());
+        return binding != null ? binding.playerNumber() : null;
     }
 
     public boolean isHostPlayer(String gameId, int playerNumber) {
@@ -130,27 +115,32 @@ public class GameSessionManager {
         if (session == null) {
             return;
         }
-        String gameId = playerToGame.get(session.getId());
-        Integer playerNumber = sessionToPlayer.get(session.getId());
-        if (gameId == null || playerNumber == null) {
-            return;
-        }
-        GameSession game = games.get(gameId);
-        if (game == null) {
-            return;
+        SessionDirectory.Binding binding = directory.binding(session.getId());
+        if (binding != null) {
+            binding.lobby().markHeartbeat(binding.playerNumber());
         }
-        game.markHeartbeat(playerNumber);
     }
 
     public List<String> collectIdleLobbyIds() {
-        long now = System.currentTimeMillis();
-        List<String> idleGameIds = new ArrayList<>();
-        for (GameSession game : games.values()) {
+        return collectIdleLobbyIds(System.currentTimeMillis());
+    }
+
+    /** Salons vides depuis {@code LOBBY_IDLE_EVICTION_MS} : seules les échéances atteintes sont examinées. */
+    List<String> collectIdleLobbyIds(long now) {
+        Set<String> idleGameIds = new LinkedHashSet<>();
+        for (PresenceTimers.Deadline deadline : idleTimers.drainDue(now)) {
+            GameSession game = directory.lobby(deadline.gameId());
+            if (game == null) {
+                continue;
+            }
+            game.idleCheckScheduled = false;
             if (game.isIdle(now, LOBBY_IDLE_EVICTION_MS)) {
                 idleGameIds.add(game.getGameId());
+            } else if (game.getPlayerCount() == 0) {
+                game.scheduleIdleEviction();
             }
         }
-        return idleGameIds;
+        return new ArrayList<>(idleGameIds);
     }
 
     public void evictLobby(String gameId) {
@@ -158,47 +148,48 @@ public class GameSessionManager {
         if (normalized == null) {
             return;
         }
-        GameSession game = games.remove(normalized);
+        GameSession game = directory.removeLobby(normalized);
         if (game == null) {
             return;
         }
         for (WebSocketSession session : game.getAllKnownSessions()) {
-            if (session != null) {
-                playerToGame.remove(session.getId());
-                sessionToPlayer.remove(session.getId());
-            }
+            directory.unbindFrom(session.getId(), game);
         }
-        lobbyConfigByGameId.remove(normalized);
     }
 
     public String getGameIdForSession(WebSocketSession session) {
         if (session == null) {
             return null;
         }
-        return playerToGame.get(session.getId());
+        SessionDirectory.Binding binding = directory.binding(session.getId());
+        return binding != null ? binding.lobby().getGameId() : null;
     }
 
     public LobbyConfigSnapshot getLobbyConfigSnapshot(String gameId) {
-        String normalized = normalizeGameId(gameId);
-        if (normalized == null) {
-            return null;
-        }
-        return lobbyConfigByGameId.get(normalized);
+        GameSession game = getGame(gameId);
+        return game != null ? game.lobbyConfig : null;
     }
 
     public void updateLobbyConfigSnapshot(String gameId, LobbyConfigSnapshot snapshot) {
-        String normalized = normalizeGameId(gameId);
-        if (normalized == null || snapshot == null) {
+        GameSession game = getGame(gameId);
+        if (game == null || snapshot == null) {
             return;
         }
-        lobbyConfigByGameId.put(normalized, snapshot.normalized());
+        game.lobbyConfig = snapshot.normalized();
     }
 
     public List<PresenceEvent> collectPresenceEvents() {
-        long now = System.currentTimeMillis();
+        return collectPresenceEvents(System.currentTimeMillis());
+    }
+
+    /** Événements dont l'échéance est atteinte ; un tick sans déconnexion en cours ne parcourt aucun salon. */
+    List<PresenceEvent> collectPresenceEvents(long now) {
         List<PresenceEvent> events = new ArrayList<>();
-        for (GameSession game : games.values()) {
-            game.collectPresenceEvents(now, events);
+        for (PresenceTimers.Deadline deadline : presenceTimers.drainDue(now)) {
+            GameSession game = directory.lobby(deadline.gameId());
+            if (game != null) {
+                game.firePresenceDeadline(deadline, now, events);
+            }
         }
         return events;
     }
@@ -221,13 +212,23 @@ public class GameSessionManager {
         private final int maxPlayers;
         private final String hostSessionId;
         private final Map<Integer, PlayerSlot> slots = new ConcurrentHashMap<>();
+        // Index inverse sessionId -> siege, tenu a jour a chaque liaison / deconnexion
+        private final Map<String, Integer> seatBySessionId = new ConcurrentHashMap<>();
+        private final PresenceTimers presenceTimers;
+        private final PresenceTimers idleTimers;
         private volatile long lastActivityAtMs = System.currentTimeMillis();
         private volatile boolean gameplayStarted = false;
+        private volatile boolean idleCheckScheduled = false;
+        private volatile LobbyConfigSnapshot lobbyConfig;
 
-        public GameSession(String gameId, int maxPlayers, String hostSessionId) {
+        GameSession(String gameId, int maxPlayers, String hostSessionId,
+                    PresenceTimers presenceTimers, PresenceTimers idleTimers) {
             this.gameId = gameId;
             this.maxPlayers = maxPlayers;
             this.hostSessionId = hostSessionId;
+            this.presenceTimers = presenceTimers;
+            this.idleTimers = idleTimers;
+            this.lobbyConfig = LobbyConfigSnapshot.defaultFor(maxPlayers);
             for (int i = 1; i <= maxPlayers; i++) {
                 slots.put(i, new PlayerSlot());
             }
@@ -238,8 +239,13 @@ public class GameSessionManager {
             if (slot == null) {
                 return;
             }
+            if (slot.session != null) {
+                seatBySessionId.remove(slot.session.getId(), playerNumber);
+            }
             slot.session = session;
+            seatBySessionId.put(session.getId(), playerNumber);
             slot.connected = true;
+            slot.epoch++;
             slot.lastHeartbeatAtMs = System.currentTimeMillis();
             slot.disconnectedAtMs = null;
             slot.disconnectAnnounced = false;
@@ -287,11 +293,32 @@ public class GameSessionManager {
                 return;
             }
             slot.connected = false;
+            if (slot.session != null) {
+                seatBySessionId.remove(slot.session.getId(), playerNumber);
+            }
             slot.session = null;
             long now = System.currentTimeMillis();
             slot.disconnectedAtMs = now;
             slot.forfeitDeadlineAtMs = now + FORFEIT_GRACE_MS;
+            slot.epoch++;
             lastActivityAtMs = now;
+            presenceTimers.schedule(new PresenceTimers.Deadline(PresenceTimers.Kind.ANNOUNCE_DISCONNECT,
+                gameId, playerNumber, slot.epoch, slot.lastHeartbeatAtMs + DISCONNECT_THRESHOLD_MS));
+            presenceTimers.schedule(new PresenceTimers.Deadline(PresenceTimers.Kind.FORFEIT,
+                gameId, playerNumber, slot.epoch, slot.forfeitDeadlineAtMs));
+            if (getPlayerCount() == 0) {
+                scheduleIdleEviction();
+            }
+        }
+
+        /** Une seule échéance d'éviction en attente par salon ; reposée si le salon a revécu entre-temps. */
+        private void scheduleIdleEviction() {
+            if (idleCheckScheduled) {
+                return;
+            }
+            idleCheckScheduled = true;
+            idleTimers.schedule(new PresenceTimers.Deadline(PresenceTimers.Kind.IDLE_EVICTION,
+                gameId, 0, 0, lastActivityAtMs + LOBBY_IDLE_EVICTION_MS));
         }
 
         public void markHeartbeat(int playerNumber) {
@@ -360,13 +387,7 @@ public class GameSessionManager {
             if (session == null) {
                 return -1;
             }
-            for (int i = 1; i <= maxPlayers; i++) {
-                PlayerSlot slot = slots.get(i);
-                if (slot != null && slot.session != null && slot.session.getId().equals(session.getId())) {
-                    return i;
-                }
-            }
-            return -1;
+            return seatBySessionId.getOrDefault(session.getId(), -1);
         }
 
         public WebSocketSession getSessionForPlayer(int playerNumber) {
@@ -377,23 +398,22 @@ public class GameSessionManager {
             return slot.session;
         }
 
-        private void collectPresenceEvents(long now, List<PresenceEvent> events) {
-            for (int i = 1; i <= maxPlayers; i++) {
-                PlayerSlot slot = slots.get(i);
-                if (slot == null) {
-                    continue;
+        /** Échéance écartée si le siège a été repris depuis sa pose (epoch différente). */
+        private void firePresenceDeadline(PresenceTimers.Deadline deadline, long now, List<PresenceEvent> events) {
+            synchronized (slots) {
+                PlayerSlot slot = slots.get(deadline.playerNumber());
+                if (slot == null || slot.epoch != deadline.epoch() || slot.connected || slot.disconnectedAtMs == null) {
+                    return;
                 }
-                if (!slot.connected && slot.disconnectedAtMs != null) {
-                    if (!slot.disconnectAnnounced && now - slot.lastHeartbeatAtMs >= DISCONNECT_THRESHOLD_MS) {
-                        slot.disconnectAnnounced = true;
-                        events.add(PresenceEvent.disconnected(gameId, i, slot.forfeitDeadlineAtMs));
-                        lastActivityAtMs = now;
-                    }
-                    if (slot.disconnectAnnounced && !slot.forfeitTriggered && slot.forfeitDeadlineAtMs != null && now >= slot.forfeitDeadlineAtMs) {
-                        slot.forfeitTriggered = true;
-                        events.add(PresenceEvent.forfeited(gameId, i));
-                        lastActivityAtMs = now;
-                    }
+                if (deadline.kind() == PresenceTimers.Kind.ANNOUNCE_DISCONNECT && !slot.disconnectAnnounced) {
+                    slot.disconnectAnnounced = true;
+                    events.add(PresenceEvent.disconnected(gameId, deadline.playerNumber(), slot.forfeitDeadlineAtMs));
+                    lastActivityAtMs = now;
+                }
+                if (deadline.kind() == PresenceTimers.Kind.FORFEIT && slot.disconnectAnnounced && !slot.forfeitTriggered) {
+                    slot.forfeitTriggered = true;
+                    events.add(PresenceEvent.forfeited(gameId, deadline.playerNumber()));
+                    lastActivityAtMs = now;
                 }
             }
         }
@@ -423,6 +443,7 @@ public class GameSessionManager {
         private long lastHeartbeatAtMs = System.currentTimeMillis();
         private Long disconnectedAtMs;
         private Long forfeitDeadlineAtMs;
+        private long epoch;
         private boolean disconnectAnnounced;
         private boolean forfeitTriggered;
     }
@@ -466,5 +487,25 @@ public class GameSessionManager {
                     Math.max(1, fleetShipCount),
                     Math.max(1, fleetTotalCells));
         }
+
+        /**
+         * Vrai si {@code fleetShipCount} navires totalisant {@code fleetTotalCells} cases tiennent
+         * sur le plateau. Le lobby ne connaît que ces deux totaux : on vérifie la répartition la plus
+         * équilibrée (longueurs à une case près), la plus facile à poser. Résultat mémorisé par
+         * {@link FleetLayoutSolver}.
+         */
+        public boolean isFleetPlaceable() {
+            if (fleetShipCount < 1 || fleetShipCount > fleetTotalCells
+                    || (long) fleetTotalCells > (long) boardSize * boardSize) {
+                return false;
+            }
+            int baseLength = fleetTotalCells / fleetShipCount;
+            int longerShips = fleetTotalCells % fleetShipCount;
+            List<Integer> sizes = new ArrayList<>(fleetShipCount);
+            for (int index = 0; index < fleetShipCount; index++) {
+                sizes.add(index < longerShips ? baseLength + 1 : baseLength);
+            }
+            return FleetLayoutSolver.isFeasible(boardSize, sizes);
+        }
     }
 }
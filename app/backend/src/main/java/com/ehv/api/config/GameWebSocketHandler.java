@@ -1,13 +1,10 @@
 package com.ehv.api.config;
 
-import java.io.IOException;
 import java.time.Instant;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +16,7 @@ import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
@@ -28,6 +26,7 @@ import com.ehv.api.lobby.LobbyGameId;
 import com.ehv.api.security.LobbyJwtService;
 import com.ehv.api.service.LobbyGameRegistry;
 import com.ehv.api.session.GameSession;
+import com.ehv.api.view.ActionResponse;
 import com.ehv.api.view.DuelPhase;
 import com.ehv.api.view.GameStateResponse;
 
@@ -37,15 +36,21 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     private final GameSessionManager sessionManager;
     private final LobbyGameRegistry lobbyGameRegistry;
     private final LobbyJwtService lobbyJwtService;
+    private final SocketOutbox outbox;
+    private final GameplaySocketChannel gameplay;
     private final Gson gson = new Gson();
 
     public GameWebSocketHandler(
             GameSessionManager sessionManager,
             LobbyGameRegistry lobbyGameRegistry,
-            LobbyJwtService lobbyJwtService) {
+            LobbyJwtService lobbyJwtService,
+            SocketOutbox outbox,
+            ObjectMapper objectMapper) {
         this.sessionManager = sessionManager;
         this.lobbyGameRegistry = lobbyGameRegistry;
         this.lobbyJwtService = lobbyJwtService;
+        this.outbox = outbox;
+        this.gameplay = new GameplaySocketChannel(sessionManager, lobbyGameRegistry, outbox, objectMapper);
     }
 
     @Override
@@ -81,7 +86,12 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             case "HEARTBEAT" -> handleHeartbeat(session, msg);
             case "UPDATE_LOBBY_CONFIG" -> handleUpdateLobbyConfig(session, msg);
             case "LEAVE_GAME" -> handleLeaveGame(session, msg);
+            case "SYNC_STATE" -> handleSyncState(session, msg);
             default -> {
+                if (GameplaySocketChannel.isAction(type)) {
+                    handleGameplayAction(session, type, msg);
+                    return;
+                }
                 send(session, Map.of(
                     "type", "ERROR",
                     "message", "Unsupported message type: " + type
@@ -94,6 +104,7 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) throws Exception {
         LOG.info("WS_CLOSED sessionId={} code={} reason={}", session.getId(), status.getCode(), status.getReason());
         sessionManager.leaveGame(session);
+        outbox.discard(session);
     }
 
     private void handleCreateGame(WebSocketSession session, JsonObject msg) throws Exception {
@@ -244,6 +255,10 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             return;
         }
         GameSessionManager.LobbyConfigSnapshot snapshot = parseLobbyConfig(msg);
+        if (!snapshot.isFleetPlaceable()) {
+            send(session, Map.of("type", "ERROR", "message", "Unable to update lobby config: fleet cannot fit on the board."));
+            return;
+        }
         sessionManager.updateLobbyConfigSnapshot(gameId, snapshot);
         LOG.info(
             "LOBBY_CONFIG_UPDATED gameId={} hostSessionId={} boardSize={} playerCount={} humanPlayers={} aiPlayers={}",
@@ -324,71 +339,81 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     }
 
     /**
-     * Notifie toutes les sessions WebSocket encore connectees dans la partie ({@code lobbyId}),
-     * afin que les autres clients recuperent vite l'etat via {@code GET /game/state}.
+     * Joue une action de partie recue sur la socket, repond {@code ACTION_RESULT} a l'emetteur
+     * puis diffuse les evenements de tour et les deltas d'etat comme apres un appel REST.
      */
-    public void notifyLobbyGameSync(String lobbyId) {
-        if (lobbyId == null || lobbyId.isBlank()) {
-            return;
-        }
-        String id = lobbyId.strip();
-        GameSessionManager.GameSession session = sessionManager.getGame(id);
-        if (session == null) {
+    private void handleGameplayAction(WebSocketSession session, String type, JsonObject msg) throws Exception {
+        ActionResponse response;
+        try {
+            response = gameplay.apply(session, type, msg);
+        } catch (IllegalArgumentException ex) {
+            send(session, Map.of("type", "ERROR", "action", type, "message", String.valueOf(ex.getMessage())));
             return;
         }
+        String gameId = sessionManager.getGameIdForSession(session);
+        Map<String, Object> result = new HashMap<>();
+        result.put("type", "ACTION_RESULT");
+        result.put("action", type);
+        result.put("gameId", gameId);
+        result.put("result", response.result() != null ? response.result().name() : null);
+        result.put("message", response.message());
+        result.put("shooter", response.shooter());
+        result.put("targetPlayer", response.targetPlayer());
+        result.put("shotX", response.shotX());
+        result.put("shotY", response.shotY());
+        send(session, result);
+        if ("FIRE".equals(type) || "AI_STEP".equals(type)) {
+            notifyGameplayAction(gameId, response);
+        }
+        notifyLobbyGameSync(gameId);
+    }
+
+    private void handleSyncState(WebSocketSession session, JsonObject msg) throws Exception {
         try {
-            broadcastToGame(session, Map.of(
-                "type", "GAME_STATE_UPDATE",
-                "gameId", id
-            ));
-        } catch (Exception ignored) {
-            // Lobby vide ou sockets fermees : pas bloquant pour HTTP.
+            gameplay.sync(session, msg);
+        } catch (IllegalArgumentException ex) {
+            send(session, Map.of("type", "ERROR", "action", "SYNC_STATE", "message", String.valueOf(ex.getMessage())));
         }
     }
 
-    public void notifyLobbyGameplayEvent(String lobbyId, Map<String, Object> payload) {
-        if (lobbyId == null || lobbyId.isBlank() || payload == null || payload.isEmpty()) {
-            return;
-        }
-        String id = lobbyId.strip();
-        GameSessionManager.GameSession session = sessionManager.getGame(id);
-        if (session == null) {
+    /**
+     * Pousse a chaque joueur connecte du salon ({@code lobbyId}) son propre delta d'etat
+     * ({@code STATE_DELTA}, brouillard applique) : plus besoin de sonder {@code GET /game/state}.
+     */
+    public void notifyLobbyGameSync(String lobbyId) {
+        if (lobbyId == null || lobbyId.isBlank()) {
             return;
         }
         try {
-            Map<String, Object> event = new HashMap<>(payload);
-            event.putIfAbsent("gameId", id);
-            broadcastToGame(session, event);
-        } catch (Exception ignored) {
-            // Non bloquant : la synchro d'etat HTTP prendra le relais.
+            gameplay.pushStateDeltas(lobbyId.strip());
+        } catch (RuntimeException ignored) {
+            // Lobby vide ou sockets fermees : pas bloquant pour HTTP.
         }
     }
 
-    public void notifyLobbyGameplayEventForPlayers(String lobbyId, Map<String, Object> payload, Set<Integer> recipients) {
-        if (lobbyId == null || lobbyId.isBlank() || payload == null || payload.isEmpty() || recipients == null || recipients.isEmpty()) {
+    /**
+     * Evenements de tour d'une action de tir ou d'IA, pour les animations des clients : chaque
+     * evenement est serialise une fois et le meme message part a tous ses destinataires.
+     */
+    public void notifyGameplayAction(String lobbyId, ActionResponse response) {
+        if (lobbyId == null || lobbyId.isBlank() || response == null || response.state() == null) {
             return;
         }
         String id = lobbyId.strip();
-        Set<Integer> uniqueRecipients = new HashSet<>(recipients);
-        Map<String, Object> event = new HashMap<>(payload);
-        event.putIfAbsent("gameId", id);
-        CharSequence serialized = gson.toJson(event);
-        for (Integer playerNumber : uniqueRecipients) {
-            if (playerNumber == null || playerNumber <= 0) {
-                continue;
-            }
-            WebSocketSession session = sessionManager.getSessionForPlayer(id, playerNumber);
-            if (session == null || !session.isOpen()) {
-                continue;
-            }
-            try {
-                session.sendMessage(new TextMessage(serialized));
-            } catch (IOException ignored) {
-                sessionManager.leaveGame(session);
-                try {
-                    session.close(CloseStatus.SERVER_ERROR);
-                } catch (IOException ignoredClose) {
-                    // Ignore close failure: the socket is already broken.
+        GameSessionManager.GameSession game = sessionManager.getGame(id);
+        if (game == null) {
+            return;
+        }
+        List<WebSocketSession> recipients = game.getPlayers();
+        int[] playerNumbers = new int[recipients.size()];
+        for (int i = 0; i < playerNumbers.length; i++) {
+            playerNumbers[i] = game.getPlayerNumber(recipients.get(i));
+        }
+        for (GameplayEvents.Addressed addressed : GameplayEvents.of(id, response)) {
+            TextMessage message = new TextMessage(gson.toJson(addressed.event()));
+            for (int i = 0; i < playerNumbers.length; i++) {
+                if (addressed.isFor(playerNumbers[i])) {
+                    outbox.send(recipients.get(i), message);
                 }
             }
         }
@@ -435,6 +460,19 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             }
         }
 
+        outbox.expireStalled();
+        SocketOutbox.OutboundStats outbound = outbox.stats();
+        if (outbound.pendingMessages() > 0) {
+            LOG.info(
+                "WS_OUTBOUND sockets={} pendingMessages={} pendingChars={} deepestChars={} terminated={}",
+                outbound.sockets(),
+                outbound.pendingMessages(),
+                outbound.pendingChars(),
+                outbound.deepestChars(),
+                outbound.terminatedSessions()
+            );
+        }
+
         List<String> idleLobbyIds = sessionManager.collectIdleLobbyIds();
         for (String gameId : idleLobbyIds) {
             sessionManager.evictLobby(gameId);
@@ -443,20 +481,9 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     }
 
     private void broadcastToGame(GameSessionManager.GameSession game, Map<String, Object> payload) throws Exception {
-        CharSequence serialized = Objects.requireNonNull(gson.toJson(payload));
+        TextMessage message = new TextMessage(Objects.requireNonNull(gson.toJson(payload)));
         for (WebSocketSession playerSession : game.getPlayers()) {
-            if (playerSession.isOpen()) {
-                try {
-                    playerSession.sendMessage(new TextMessage(serialized));
-                } catch (IOException ignored) {
-                    sessionManager.leaveGame(playerSession);
-                    try {
-                        playerSession.close(CloseStatus.SERVER_ERROR);
-                    } catch (IOException ignoredClose) {
-                        // Ignore close failure: the socket is already broken.
-                    }
-                }
-            }
+            outbox.send(playerSession, message);
         }
     }
 
@@ -484,16 +511,6 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
         if (!session.isOpen()) {
             return;
         }
-        CharSequence serialized = Objects.requireNonNull(gson.toJson(payload));
-        try {
-            session.sendMessage(new TextMessage(serialized));
-        } catch (IOException ignored) {
-            sessionManager.leaveGame(session);
-            try {
-                session.close(CloseStatus.SERVER_ERROR);
-            } catch (IOException ignoredClose) {
-                // Ignore close failure: the socket is already broken.
-            }
-        }
+        outbox.send(session, Objects.requireNonNull(gson.toJson(payload)));
     }
 }
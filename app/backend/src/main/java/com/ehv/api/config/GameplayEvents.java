@@ -0,0 +1,69 @@
+package com.ehv.api.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.ehv.api.view.ActionResponse;
+import com.ehv.api.view.DuelPhase;
+import com.ehv.api.view.GameStateResponse;
+
+/**
+ * Événements de tour ({@code TARGET_LOCKED}, {@code SHOT_RESOLVED}, {@code PEER_SHOT},
+ * {@code TURN_PHASE_CHANGED}) tirés d'une {@link ActionResponse}, que le coup vienne de l'API
+ * REST ou de la socket.
+ *
+ * <p>Records immuables : chacun est sérialisé une seule fois puis le même message part à tous
+ * ses destinataires. Aucun ne dépend du brouillard ; seul {@code SHOT_RESOLVED} est restreint
+ * (tireur et cible).
+ */
+final class GameplayEvents {
+
+    private GameplayEvents() {}
+
+    /** Événements d'une action, dans l'ordre d'envoi. */
+    static List<Addressed> of(String gameId, ActionResponse response) {
+        GameStateResponse state = response.state();
+        String phase = state.phase() != null ? state.phase().name() : null;
+        List<Addressed> events = new ArrayList<>(4);
+        Integer shooter = response.shooter();
+        Integer target = response.targetPlayer();
+        if (shooter != null && target != null) {
+            events.add(Addressed.toLobby(new TargetLocked("TARGET_LOCKED", gameId, shooter, target)));
+        }
+        if (shooter != null && target != null && response.shotX() != null && response.shotY() != null) {
+            String result = response.result() != null ? response.result().name() : null;
+            events.add(new Addressed(new ShotResolved("SHOT_RESOLVED", gameId, shooter, target,
+                response.shotX(), response.shotY(), result, state.currentPlayer(), state.currentTargetPlayer(), phase),
+                Set.of(shooter, target)));
+            events.add(Addressed.toLobby(new PeerShot("PEER_SHOT", gameId, shooter, target, state.currentPlayer(), phase)));
+        }
+        String phaseStep = state.phase() == DuelPhase.BATTLE
+            ? (state.currentTargetPlayer() == null ? "target_selection" : "firing")
+            : "resolving";
+        events.add(Addressed.toLobby(new TurnPhaseChanged("TURN_PHASE_CHANGED", gameId,
+            state.currentPlayer(), phaseStep, state.currentTargetPlayer())));
+        return events;
+    }
+
+    /** @param recipients numéros de joueur destinataires ; {@code null} = tout le salon */
+    record Addressed(Record event, Set<Integer> recipients) {
+        static Addressed toLobby(Record event) {
+            return new Addressed(event, null);
+        }
+
+        boolean isFor(int playerNumber) {
+            return recipients == null || recipients.contains(playerNumber);
+        }
+    }
+
+    record TargetLocked(String type, String gameId, int shooter, int targetPlayer) {}
+
+    record ShotResolved(String type, String gameId, int shooter, int targetPlayer, int x, int y, String result,
+                        int nextPlayer, Integer currentTargetPlayer, String phase) {}
+
+    record PeerShot(String type, String gameId, int shooter, int targetPlayer, int nextPlayer, String phase) {}
+
+    record TurnPhaseChanged(String type, String gameId, int turnPlayer, String phaseStep,
+                            Integer currentTargetPlayer) {}
+}
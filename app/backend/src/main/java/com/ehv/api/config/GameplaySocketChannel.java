@@ -0,0 +1,208 @@
+package com.ehv.api.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.JsonObject;
+
+import com.ehv.api.dto.ConfirmPlacementRequest;
+import com.ehv.api.dto.FireRequest;
+import com.ehv.api.dto.PlaceShipRequest;
+import com.ehv.api.dto.RemoveShipRequest;
+import com.ehv.api.service.LobbyGameRegistry;
+import com.ehv.api.session.GameSession;
+import com.ehv.api.view.ActionResponse;
+import com.ehv.api.view.BoardEncoding;
+import com.ehv.api.view.GameStateDeltaResponse;
+
+/**
+ * Boucle de jeu d'un salon sur la socket : actions ({@code PLACE_SHIP}, {@code REMOVE_SHIP},
+ * {@code CONFIRM_PLACEMENT}, {@code FIRE}, {@code AI_STEP}) et poussée de l'état.
+ *
+ * <p>Le joueur est celui auquel la socket est liée par {@code JOIN_GAME} / {@code CREATE_GAME}
+ * (jeton de reprise déjà vérifié) : le message ne choisit ni la partie ni le siège.
+ *
+ * <p>Après chaque mutation, chaque joueur connecté reçoit {@code STATE_DELTA} : son delta
+ * (brouillard appliqué) depuis la dernière version envoyée sur <b>cette</b> socket, planches en
+ * RLE. Une socket neuve part de la version 0 et reçoit donc d'abord un instantané complet ;
+ * {@code SYNC_STATE} recale ce curseur sur la version que le client a réellement appliquée.
+ * Extrait du {@link GameWebSocketHandler} pour le maintenir sous la taille recommandée par
+ * {@code CONTRIBUTING.md}.
+ *
+ * <p>{@code STATE_DELTA} est encodé avec l'{@link ObjectMapper} de Spring, pas avec le Gson des
+ * autres messages de la socket : ce sont les vues de l'API REST, annotées pour Jackson
+ * ({@code @JsonInclude} des planches), et les champs nuls ({@code winner}...) doivent rester
+ * présents comme dans {@code GET /api/game/state}, que le client fusionne avec le même code.
+ */
+final class GameplaySocketChannel {
+
+    private static final String SENT_STATE_ATTRIBUTE = "ehv.gameplay.sentState";
+
+    private final GameSessionManager sessionManager;
+    private final LobbyGameRegistry lobbyGameRegistry;
+    private final SocketOutbox outbox;
+    private final ObjectMapper objectMapper;
+
+    GameplaySocketChannel(GameSessionManager sessionManager, LobbyGameRegistry lobbyGameRegistry,
+                          SocketOutbox outbox, ObjectMapper objectMapper) {
+        this.sessionManager = sessionManager;
+        this.lobbyGameRegistry = lobbyGameRegistry;
+        this.outbox = outbox;
+        this.objectMapper = objectMapper;
+    }
+
+    static boolean isAction(String type) {
+        return switch (type) {
+            case "PLACE_SHIP", "REMOVE_SHIP", "CONFIRM_PLACEMENT", "FIRE", "AI_STEP" -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Joue l'action pour le joueur lié à la socket.
+     *
+     * @throws IllegalArgumentException socket hors salon, partie non lancée ou coup refusé
+     */
+    ActionResponse apply(WebSocketSession session, String type, JsonObject msg) {
+        Seat seat = seatOf(session);
+        GameSession game = seat.game();
+        int player = seat.playerNumber();
+        return switch (type) {
+            case "PLACE_SHIP" -> game.placeShip(new PlaceShipRequest(
+                player, string(msg, "shipType"), integer(msg, "x"), integer(msg, "y"),
+                string(msg, "orientation"), seat.gameId()));
+            case "REMOVE_SHIP" -> game.removePlacedShip(new RemoveShipRequest(
+                player, string(msg, "shipType"), optionalInteger(msg, "x"), optionalInteger(msg, "y"),
+                seat.gameId()));
+            case "CONFIRM_PLACEMENT" -> game.confirmPlacement(new ConfirmPlacementRequest(player, seat.gameId()));
+            case "FIRE" -> game.fireAt(new FireRequest(
+                player, integer(msg, "x"), integer(msg, "y"), optionalInteger(msg, "targetPlayer"), seat.gameId()));
+            case "AI_STEP" -> {
+                if (!sessionManager.isHostPlayer(seat.gameId(), player)) {
+                    throw new IllegalArgumentException("Action reservee a l'hote de la partie.");
+                }
+                yield game.advanceAiSingleStepAndGetAction();
+            }
+            default -> throw new IllegalArgumentException("Action de jeu inconnue : " + type);
+        };
+    }
+
+    /** Recale le curseur de la socket sur {@code since} (0 par défaut) puis pousse l'état. */
+    void sync(WebSocketSession session, JsonObject msg) {
+        Seat seat = seatOf(session);
+        long since = optionalLong(msg, "since");
+        synchronized (session) {
+            session.getAttributes().put(SENT_STATE_ATTRIBUTE, new SentState(seat.gameId(), since));
+            push(session, seat.gameId(), seat.playerNumber(), seat.game());
+        }
+    }
+
+    /** Pousse à chaque joueur connecté du salon ce qui a changé pour lui. */
+    void pushStateDeltas(String gameId) {
+        GameSessionManager.GameSession lobby = sessionManager.getGame(gameId);
+        GameSession game = lobbyGameRegistry.getLobbyIfPresent(gameId);
+        if (lobby == null || game == null) {
+            return;
+        }
+        for (WebSocketSession playerSession : lobby.getPlayers()) {
+            int player = lobby.getPlayerNumber(playerSession);
+            if (player <= 0) {
+                continue;
+            }
+            synchronized (playerSession) {
+                push(playerSession, lobby.getGameId(), player, game);
+            }
+        }
+    }
+
+    /** À appeler sous le verrou de la socket : le curseur et l'ordre de mise en file restent alignés. */
+    private void push(WebSocketSession session, String gameId, int player, GameSession game) {
+        if (!session.isOpen()) {
+            return;
+        }
+        Object sent = session.getAttributes().get(SENT_STATE_ATTRIBUTE);
+        long since = sent instanceof SentState state && state.gameId().equals(gameId) ? state.version() : 0L;
+        GameStateDeltaResponse delta = game.getStateDeltaForPlayer(player, since, BoardEncoding.RLE);
+        if (!delta.fullSnapshot() && delta.version() == since) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", "STATE_DELTA");
+        payload.put("gameId", gameId);
+        payload.put("playerNumber", player);
+        payload.put("delta", delta);
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Encodage du delta impossible", exception);
+        }
+        if (outbox.send(session, json)) {
+            session.getAttributes().put(SENT_STATE_ATTRIBUTE, new SentState(gameId, delta.version()));
+        }
+    }
+
+    private Seat seatOf(WebSocketSession session) {
+        String gameId = sessionManager.getGameIdForSession(session);
+        Integer player = sessionManager.getPlayerNumber(session);
+        if (gameId == null || player == null) {
+            throw new IllegalArgumentException("Action de jeu impossible : socket hors salon.");
+        }
+        GameSession game = lobbyGameRegistry.getLobbyIfPresent(gameId);
+        if (game == null) {
+            throw new IllegalArgumentException("Aucune partie lancee dans ce salon.");
+        }
+        return new Seat(gameId, player, game);
+    }
+
+    private static String string(JsonObject msg, String field) {
+        if (!msg.has(field) || msg.get(field).isJsonNull()) {
+            return null;
+        }
+        try {
+            return msg.get(field).getAsString();
+        } catch (UnsupportedOperationException | IllegalStateException exception) {
+            throw new IllegalArgumentException("Champ texte invalide : " + field);
+        }
+    }
+
+    private static int integer(JsonObject msg, String field) {
+        Integer value = optionalInteger(msg, field);
+        if (value == null) {
+            throw new IllegalArgumentException("Champ requis manquant : " + field);
+        }
+        return value;
+    }
+
+    private static Integer optionalInteger(JsonObject msg, String field) {
+        if (!msg.has(field) || msg.get(field).isJsonNull()) {
+            return null;
+        }
+        try {
+            return msg.get(field).getAsInt();
+        } catch (NumberFormatException | UnsupportedOperationException | IllegalStateException exception) {
+            throw new IllegalArgumentException("Champ numerique invalide : " + field);
+        }
+    }
+
+    /** @return 0 si le champ est absent */
+    private static long optionalLong(JsonObject msg, String field) {
+        if (!msg.has(field) || msg.get(field).isJsonNull()) {
+            return 0L;
+        }
+        try {
+            return msg.get(field).getAsLong();
+        } catch (NumberFormatException | UnsupportedOperationException | IllegalStateException exception) {
+            throw new IllegalArgumentException("Champ numerique invalide : " + field);
+        }
+    }
+
+    private record Seat(String gameId, int playerNumber, GameSession game) {}
+
+    /** Dernière version poussée sur une socket, pour une partie donnée. */
+    private record SentState(String gameId, long version) {}
+}
@@ -0,0 +1,46 @@
+package com.ehv.api.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Échéances de présence (annonce de déconnexion, forfait, éviction d'un salon vide), triées par
+ * date. Une échéance est posée quand l'événement devient possible, pas recherchée à chaque tick :
+ * un tick sans échéance due ne coûte qu'un coup d'œil au sommet du tas, quel que soit le nombre
+ * de salons ouverts.
+ *
+ * <p>Pas d'annulation explicite : une reconnexion change l'{@code epoch} du siège et l'échéance
+ * périmée est écartée quand elle arrive à terme (elle est de toute façon bornée par le délai de
+ * forfait ou d'éviction).
+ */
+final class PresenceTimers {
+
+    enum Kind { ANNOUNCE_DISCONNECT, FORFEIT, IDLE_EVICTION }
+
+    /**
+     * @param playerNumber siège concerné ; 0 pour {@link Kind#IDLE_EVICTION}
+     * @param epoch        génération du siège à la pose ; ignorée pour l'éviction
+     */
+    record Deadline(Kind kind, String gameId, int playerNumber, long epoch, long dueAtMs) {}
+
+    private final PriorityQueue<Deadline> queue = new PriorityQueue<>(Comparator.comparingLong(Deadline::dueAtMs));
+
+    synchronized void schedule(Deadline deadline) {
+        queue.add(deadline);
+    }
+
+    /** Retire et renvoie, par date croissante, les échéances atteintes à {@code now}. */
+    synchronized List<Deadline> drainDue(long now) {
+        List<Deadline> due = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().dueAtMs() <= now) {
+            due.add(queue.poll());
+        }
+        return due;
+    }
+
+    synchronized int size() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,52 @@
+package com.ehv.api.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Annuaire des salons et des sockets liées. Une socket a <b>une</b> entrée (son salon et son
+ * siège) : la lier, la délier ou la retrouver est une seule opération sur une seule table, sans
+ * fenêtre où le salon serait connu mais pas le siège. Le heartbeat de chaque client (toutes les
+ * 5 s) ne coûte ainsi qu'une lecture, quel que soit le nombre de connexions.
+ *
+ * <p>Extrait de {@link GameSessionManager} pour le maintenir sous la taille recommandée par
+ * {@code CONTRIBUTING.md}.
+ */
+final class SessionDirectory {
+
+    /** Salon et siège d'une socket ; la référence directe évite une seconde recherche par identifiant. */
+    record Binding(GameSessionManager.GameSession lobby, int playerNumber) {}
+
+    private final Map<String, GameSessionManager.GameSession> lobbies = new ConcurrentHashMap<>();
+    private final Map<String, Binding> bindings = new ConcurrentHashMap<>();
+
+    GameSessionManager.GameSession lobby(String gameId) {
+        return gameId == null ? null : lobbies.get(gameId);
+    }
+
+    /** @return {@code false} si l'identifiant est déjà pris (rien n'est remplacé) */
+    boolean addLobby(GameSessionManager.GameSession lobby) {
+        return lobbies.putIfAbsent(lobby.getGameId(), lobby) == null;
+    }
+
+    GameSessionManager.GameSession removeLobby(String gameId) {
+        return lobbies.remove(gameId);
+    }
+
+    Binding binding(String sessionId) {
+        return bindings.get(sessionId);
+    }
+
+    void bind(String sessionId, GameSessionManager.GameSession lobby, int playerNumber) {
+        bindings.put(sessionId, new Binding(lobby, playerNumber));
+    }
+
+    Binding unbind(String sessionId) {
+        return bindings.remove(sessionId);
+    }
+
+    /** Délie la socket seulement si elle est encore liée à ce salon (elle a pu en rejoindre un autre). */
+    void unbindFrom(String sessionId, GameSessionManager.GameSession lobby) {
+        bindings.computeIfPresent(sessionId, (id, binding) -> binding.lobby() == lobby ? null : binding);
+    }
+}
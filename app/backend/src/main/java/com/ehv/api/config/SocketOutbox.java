@@ -0,0 +1,250 @@
+package com.ehv.api.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * File d'envoi bornée par socket : {@link #send} dépose le message et rend la main, un thread
+ * dédié écrit sur la socket. Un client lent ne bloque donc ni les threads REST, ni le tick de
+ * présence, ni les autres joueurs du salon ; une seule écriture à la fois par socket.
+ *
+ * <p>Un client dont l'arriéré dépasse {@code buffer-size-limit} caractères, ou dont le plus vieux
+ * message attend depuis plus de {@code send-time-limit-ms}, est déconnecté (le plus lent est
+ * sacrifié, pas les autres) : sa file est vidée et il repasse par la reprise de salon. Le délai est
+ * contrôlé à chaque envoi et par le tick de présence ({@link #expireStalled}), pour qu'une socket
+ * bloquée sans nouveau trafic soit aussi libérée.
+ *
+ * <p>Avec {@code spring.threads.virtual.enabled} sur un JRE 21+ (profil {@code virtual-threads}),
+ * chaque écriture bloquante occupe un thread virtuel plutôt qu'un thread plateforme du pool.
+ */
+@Component
+public class SocketOutbox {
+    private static final Logger LOG = LoggerFactory.getLogger(SocketOutbox.class);
+
+    private final GameSessionManager sessionManager;
+    private final int bufferSizeLimit;
+    private final long sendTimeLimitMs;
+    private final Executor writers;
+    private final Map<String, Outbound> queues = new ConcurrentHashMap<>();
+    /** Sockets déconnectées pour lenteur, jusqu'à leur fermeture effective ({@link #discard}). */
+    private final Set<String> terminatedIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong terminatedSessions = new AtomicLong();
+
+    @Autowired
+    public SocketOutbox(
+            GameSessionManager sessionManager,
+            @Value("${app.websocket.outbound.buffer-size-limit:524288}") int bufferSizeLimit,
+            @Value("${app.websocket.outbound.send-time-limit-ms:10000}") long sendTimeLimitMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.sessionManager = sessionManager;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.writers = virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)
+            ? new VirtualThreadTaskExecutor("ws-outbound-")
+            : platformWriters();
+    }
+
+    public SocketOutbox(GameSessionManager sessionManager, int bufferSizeLimit, long sendTimeLimitMs) {
+        this(sessionManager, bufferSizeLimit, sendTimeLimitMs, false);
+    }
+
+    /**
+     * Met le message en file pour cette socket.
+     *
+     * @return {@code false} si la socket est fermée ou vient d'être déconnectée pour lenteur
+     */
+    public boolean send(WebSocketSession session, CharSequence payload) {
+        return send(session, new TextMessage(payload));
+    }
+
+    /** Même message immuable partageable entre destinataires : sérialisé une fois, mis en file pour chacun. */
+    public boolean send(WebSocketSession session, TextMessage message) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        // Pas de nouvelle file pour une socket déjà sacrifiée, le temps que sa fermeture aboutisse.
+        Outbound outbound = queues.compute(session.getId(), (id, existing) ->
+            existing != null || terminatedIds.contains(id) ? existing : new Outbound(session));
+        return outbound != null && outbound.enqueue(message);
+    }
+
+    /**
+     * Déconnecte les sockets dont l'écriture en cours ou le plus vieux message attend depuis plus
+     * de {@code send-time-limit-ms}. Appelé par le tick de présence.
+     *
+     * @return nombre de sockets déconnectées
+     */
+    public int expireStalled() {
+        long now = System.currentTimeMillis();
+        int expired = 0;
+        for (Outbound outbound : queues.values()) {
+            long since = outbound.stalledSinceMs();
+            if (since > 0 && now - since > sendTimeLimitMs && outbound.terminate(outbound.chars.get())) {
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    /** Oublie la file d'une socket fermée ; les messages encore en attente sont abandonnés. */
+    public void discard(WebSocketSession session) {
+        terminatedIds.remove(session.getId());
+        Outbound outbound = queues.remove(session.getId());
+        if (outbound != null) {
+            outbound.clear();
+        }
+    }
+
+    /** Profondeur des files à l'instant de l'appel. */
+    public OutboundStats stats() {
+        int pendingMessages = 0;
+        long pendingChars = 0;
+        long deepestChars = 0;
+        for (Outbound outbound : queues.values()) {
+            pendingMessages += outbound.depth.get();
+            long chars = outbound.chars.get();
+            pendingChars += chars;
+            deepestChars = Math.max(deepestChars, chars);
+        }
+        return new OutboundStats(queues.size(), pendingMessages, pendingChars, deepestChars, terminatedSessions.get());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (writers instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ExecutorService platformWriters() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "ws-outbound-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param deepestChars arriéré de la socket la plus en retard
+     * @param terminatedSessions sockets déconnectées pour lenteur depuis le démarrage
+     */
+    public record OutboundStats(int sockets, int pendingMessages, long pendingChars, long deepestChars,
+                                long terminatedSessions) {}
+
+    private record Pending(TextMessage message, long enqueuedAtMs) {}
+
+    private final class Outbound {
+        private final WebSocketSession session;
+        private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicLong chars = new AtomicLong();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        /** Mise en file du message en cours d'écriture, 0 au repos. */
+        private volatile long writingSinceMs;
+
+        Outbound(WebSocketSession session) {
+            this.session = session;
+        }
+
+        boolean enqueue(TextMessage message) {
+            if (terminated.get()) {
+                return false;
+            }
+            long now = System.currentTimeMillis();
+            Pending oldest = pending.peek();
+            pending.add(new Pending(message, now));
+            depth.incrementAndGet();
+            long backlog = chars.addAndGet(message.getPayloadLength());
+            if (backlog > bufferSizeLimit || (oldest != null && now - oldest.enqueuedAtMs() > sendTimeLimitMs)) {
+                terminate(backlog);
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+            return true;
+        }
+
+        /** Un seul drain actif par socket ; relancé si un message est arrivé pendant la sortie. */
+        private void drain() {
+            do {
+                Pending next;
+                while (!terminated.get() && (next = pending.poll()) != null) {
+                    depth.decrementAndGet();
+                    chars.addAndGet(-next.message().getPayloadLength());
+                    writingSinceMs = next.enqueuedAtMs();
+                    try {
+                        session.sendMessage(next.message());
+                    } catch (IOException | RuntimeException exception) {
+                        terminate(chars.get());
+                    } finally {
+                        writingSinceMs = 0;
+                    }
+                }
+                draining.set(false);
+            } while (!terminated.get() && !pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        /** Âge de référence : message en cours d'écriture, sinon le plus vieux en file ; 0 si rien. */
+        long stalledSinceMs() {
+            long writing = writingSinceMs;
+            if (writing > 0) {
+                return writing;
+            }
+            Pending oldest = pending.peek();
+            return oldest == null ? 0 : oldest.enqueuedAtMs();
+        }
+
+        private boolean terminate(long backlog) {
+            if (!terminated.compareAndSet(false, true)) {
+                return false;
+            }
+            terminatedSessions.incrementAndGet();
+            terminatedIds.add(session.getId());
+            LOG.warn("WS_OUTBOUND_TERMINATED sessionId={} pendingMessages={} pendingChars={}",
+                session.getId(), depth.get(), backlog);
+            clear();
+            queues.remove(session.getId(), this);
+            sessionManager.leaveGame(session);
+            writers.execute(() -> {
+                try {
+                    session.close(CloseStatus.SESSION_NOT_RELIABLE);
+                } catch (IOException ignoredClose) {
+                    // Ignore close failure: the socket is already broken.
+                }
+            });
+            return true;
+        }
+
+        void clear() {
+            pending.clear();
+            depth.set(0);
+            chars.set(0);
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package com.ehv.api.controller;
 
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -31,31 +31,39 @@ import com.ehv.api.security.LobbyJwtService;
 import com.ehv.api.service.LobbyGameRegistry;
 import com.ehv.api.session.GameSession;
 import com.ehv.api.view.ActionResponse;
-import com.ehv.api.view.DuelPhase;
+import com.ehv.api.view.BoardEncoding;
 import com.ehv.api.view.ErrorResponse;
+import com.ehv.api.view.GameStateDeltaResponse;
 import com.ehv.api.view.GameStateResponse;
+import com.ehv.api.view.SaveCatalogResponse;
 import com.ehv.api.view.SaveGameResponse;
 
 @RestController
 @RequestMapping("/api")
 public class GameController {
     private static final Logger LOG = LoggerFactory.getLogger(GameController.class);
+    /** Pages demandées explicitement : le répertoire peut compter des dizaines de milliers de fichiers. */
+    private static final int DEFAULT_SAVES_PAGE = 200;
+    private static final int MAX_SAVES_PAGE = 1000;
     private final LobbyGameRegistry lobbyGameRegistry;
     private final GameWebSocketHandler gameWebSocketHandler;
     private final LobbyJwtService lobbyJwtService;
     private final GameSessionManager gameSessionManager;
     private final boolean localDebugEndpointsEnabled;
+    private final ObjectMapper objectMapper;
 
     public GameController(
             LobbyGameRegistry lobbyGameRegistry,
             GameWebSocketHandler gameWebSocketHandler,
             LobbyJwtService lobbyJwtService,
             GameSessionManager gameSessionManager,
+            ObjectMapper objectMapper,
             @Value("${app.security.local-debug-endpoints-enabled:true}") boolean localDebugEndpointsEnabled) {
         this.lobbyGameRegistry = lobbyGameRegistry;
         this.gameWebSocketHandler = gameWebSocketHandler;
         this.lobbyJwtService = lobbyJwtService;
         this.gameSessionManager = gameSessionManager;
+        this.objectMapper = objectMapper;
         this.localDebugEndpointsEnabled = localDebugEndpointsEnabled;
     }
 
@@ -83,51 +91,6 @@ public class GameController {
         return token.isEmpty() ? null : token;
     }
 
-    private void notifyGameplayEvents(String gameId, ActionResponse response) {
-        if (!hasLobbyGameId(gameId) || response == null || response.state() == null) {
-            return;
-        }
-        Integer shooter = response.shooter();
-        Integer targetPlayer = response.targetPlayer();
-        if (shooter != null && targetPlayer != null) {
-            Map<String, Object> targetLockedEvent = new LinkedHashMap<>();
-            targetLockedEvent.put("type", "TARGET_LOCKED");
-            targetLockedEvent.put("shooter", shooter);
-            targetLockedEvent.put("targetPlayer", targetPlayer);
-            gameWebSocketHandler.notifyLobbyGameplayEvent(gameId, targetLockedEvent);
-        }
-        if (shooter != null && targetPlayer != null && response.shotX() != null && response.shotY() != null) {
-            Map<String, Object> shotResolvedEvent = new LinkedHashMap<>();
-            shotResolvedEvent.put("type", "SHOT_RESOLVED");
-            shotResolvedEvent.put("shooter", shooter);
-            shotResolvedEvent.put("targetPlayer", targetPlayer);
-            shotResolvedEvent.put("x", response.shotX());
-            shotResolvedEvent.put("y", response.shotY());
-            shotResolvedEvent.put("result", response.result() != null ? response.result().name() : null);
-            shotResolvedEvent.put("nextPlayer", response.state().currentPlayer());
-            shotResolvedEvent.put("currentTargetPlayer", response.state().currentTargetPlayer());
-            shotResolvedEvent.put("phase", response.state().phase() != null ? response.state().phase().name() : null);
-            gameWebSocketHandler.notifyLobbyGameplayEventForPlayers(gameId, shotResolvedEvent, Set.of(shooter, targetPlayer));
-
-            Map<String, Object> peerShotEvent = new LinkedHashMap<>();
-            peerShotEvent.put("type", "PEER_SHOT");
-            peerShotEvent.put("shooter", shooter);
-            peerShotEvent.put("targetPlayer", targetPlayer);
-            peerShotEvent.put("nextPlayer", response.state().currentPlayer());
-            peerShotEvent.put("phase", response.state().phase() != null ? response.state().phase().name() : null);
-            gameWebSocketHandler.notifyLobbyGameplayEvent(gameId, peerShotEvent);
-        }
-        String phaseStep = response.state().phase() == DuelPhase.BATTLE
-            ? (response.state().currentTargetPlayer() == null ? "target_selection" : "firing")
-            : "resolving";
-        Map<String, Object> turnPhaseChangedEvent = new LinkedHashMap<>();
-        turnPhaseChangedEvent.put("type", "TURN_PHASE_CHANGED");
-        turnPhaseChangedEvent.put("turnPlayer", response.state().currentPlayer());
-        turnPhaseChangedEvent.put("phaseStep", phaseStep);
-        turnPhaseChangedEvent.put("currentTargetPlayer", response.state().currentTargetPlayer());
-        gameWebSocketHandler.notifyLobbyGameplayEvent(gameId, turnPhaseChangedEvent);
-    }
-
     private String requireGameScope(String gameId) {
         if (!hasLobbyGameId(gameId)) {
             throw new IllegalArgumentException("gameId est requis pour cette action.");
@@ -211,13 +174,36 @@ public class GameController {
         return game(scope).resetDefaults();
     }
 
+    /** Même contrat JSON que {@link GameStateResponse} ; octets mémorisés par la session tant que l'état ne change pas. */
     @GetMapping("/game/state")
-    public GameStateResponse state(
+    public ResponseEntity<byte[]> state(
+            @RequestParam("player") int player,
+            @RequestParam(value = "gameId", required = false) String gameId,
+            @RequestParam(value = "boardEncoding", required = false) String boardEncoding,
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+        requireLobbyAuthorizationIfScoped(authorizationHeader, gameId, player);
+        byte[] json = game(gameId).getStateJsonForPlayer(
+            player, BoardEncoding.fromParameter(boardEncoding), this::encodeState);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+
+    private byte[] encodeState(GameStateResponse state) {
+        try {
+            return objectMapper.writeValueAsBytes(state);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Encodage de l'etat impossible", exception);
+        }
+    }
+
+    @GetMapping("/game/state/delta")
+    public GameStateDeltaResponse stateDelta(
             @RequestParam("player") int player,
+            @RequestParam(value = "since", defaultValue = "0") long sinceVersion,
             @RequestParam(value = "gameId", required = false) String gameId,
+            @RequestParam(value = "boardEncoding", required = false) String boardEncoding,
             @RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
         requireLobbyAuthorizationIfScoped(authorizationHeader, gameId, player);
-        return game(gameId).getStateForPlayer(player);
+        return game(gameId).getStateDeltaForPlayer(player, sinceVersion, BoardEncoding.fromParameter(boardEncoding));
     }
 
     @PostMapping("/game/place")
@@ -276,7 +262,7 @@ public class GameController {
             authorizedPlayer, request.x(), request.y(), request.targetPlayer(), request.gameId());
         ActionResponse response = game(request.gameId()).fireAt(sanitizedRequest);
         if (hasLobbyGameId(request.gameId())) {
-            notifyGameplayEvents(request.gameId(), response);
+            gameWebSocketHandler.notifyGameplayAction(request.gameId(), response);
             gameWebSocketHandler.notifyLobbyGameSync(request.gameId());
         }
         return response;
@@ -289,16 +275,35 @@ public class GameController {
         requireHostAuthorization(authorizationHeader, gameId);
         ActionResponse action = game(gameId).advanceAiSingleStepAndGetAction();
         if (hasLobbyGameId(gameId)) {
-            notifyGameplayEvents(gameId, action);
+            gameWebSocketHandler.notifyGameplayAction(gameId, action);
             gameWebSocketHandler.notifyLobbyGameSync(gameId);
         }
         return action;
     }
 
+    /** Sans paramètre : liste complète (client historique) ; avec prefix/offset/limit : une page. */
     @GetMapping("/game/saves")
-    public List<String> saves() {
+    public List<String> saves(
+            @RequestParam(value = "prefix", required = false) String prefix,
+            @RequestParam(value = "offset", required = false) Integer offset,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        ensureLocalDebugEndpointsEnabled();
+        if (prefix == null && offset == null && limit == null) {
+            return game(null).listSaveFiles("", 0, Integer.MAX_VALUE);
+        }
+        return game(null).listSaveFiles(
+            prefix == null ? "" : prefix,
+            offset == null ? 0 : offset,
+            limit == null ? DEFAULT_SAVES_PAGE : Math.min(limit, MAX_SAVES_PAGE));
+    }
+
+    @GetMapping("/game/saves/catalog")
+    public SaveCatalogResponse saveCatalog(
+            @RequestParam(value = "prefix", defaultValue = "") String prefix,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_SAVES_PAGE) int limit) {
         ensureLocalDebugEndpointsEnabled();
-        return game(null).listSaveFiles();
+        return game(null).saveCatalog(prefix, offset, Math.min(limit, MAX_SAVES_PAGE));
     }
 
     @PostMapping("/game/load")
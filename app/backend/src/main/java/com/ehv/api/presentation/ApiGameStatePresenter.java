@@ -2,14 +2,17 @@ package com.ehv.api.presentation;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
+import com.ehv.api.view.BoardEncoding;
 import com.ehv.api.view.BoardStateView;
+import com.ehv.api.view.CellChangeView;
 import com.ehv.api.view.CellViewState;
 import com.ehv.api.view.DuelPhase;
+import com.ehv.api.view.GameStateDeltaResponse;
 import com.ehv.api.view.GameStateResponse;
 import com.ehv.battleship.legacy.controller.GameController;
 import com.ehv.battleship.model.CellStatus;
-import com.ehv.battleship.model.Coordinate;
 import com.ehv.battleship.model.GameState;
 import com.ehv.battleship.model.Player;
 
@@ -32,15 +35,118 @@ public final class ApiGameStatePresenter {
 
     public static GameStateResponse project(GameController controller, int viewerPlayer) {
         validateViewer(controller, viewerPlayer);
+        return project(controller, viewerPlayer, true);
+    }
+
+    /**
+     * Comme {@link #project(GameController, int)}, mais réutilise la projection déjà construite pour
+     * ce spectateur tant que la version du {@code tracker} (synchronisé par l'appelant) n'a pas bougé.
+     */
+    public static GameStateResponse project(GameController controller, int viewerPlayer, BoardChangeTracker tracker) {
+        GameStateResponse cached = tracker.cachedState(viewerPlayer);
+        if (cached != null) {
+            return cached;
+        }
+        GameStateResponse state = project(controller, viewerPlayer);
+        tracker.cacheState(viewerPlayer, state);
+        return state;
+    }
+
+    /** Projection déjà encodée par {@code encoder}, mémorisée comme {@link #project(GameController, int, BoardChangeTracker)}. */
+    public static byte[] projectJson(GameController controller, int viewerPlayer, BoardEncoding boardEncoding,
+                                     BoardChangeTracker tracker, Function<GameStateResponse, byte[]> encoder) {
+        byte[] cached = tracker.cachedJson(viewerPlayer, boardEncoding);
+        if (cached != null) {
+            return cached;
+        }
+        GameStateResponse state = withBoardEncoding(project(controller, viewerPlayer, tracker), boardEncoding);
+        byte[] json = encoder.apply(state);
+        tracker.cacheJson(viewerPlayer, boardEncoding, json);
+        return json;
+    }
+
+    /** Remplace les lignes {@code cells} de chaque planche par leur forme compacte si demandé. */
+    public static GameStateResponse withBoardEncoding(GameStateResponse state, BoardEncoding boardEncoding) {
+        if (boardEncoding == BoardEncoding.CELLS) {
+            return state;
+        }
+        List<BoardStateView> boards = new ArrayList<>(state.boards().size());
+        for (BoardStateView board : state.boards()) {
+            boards.add(new BoardStateView(board.boardId(), board.ownBoard(), null,
+                BoardRunLength.encode(board.cells())));
+        }
+        return new GameStateResponse(
+            state.boardSize(),
+            state.phase(),
+            state.currentPlayer(),
+            state.currentTargetPlayer(),
+            state.winner(),
+            List.copyOf(boards),
+            state.playersAlive(),
+            state.aiPlayers(),
+            state.placementLockedByPlayer(),
+            state.placedShipTypesByPlayer()
+        );
+    }
+
+    /**
+     * Cases changées depuis {@code sinceVersion} pour ce spectateur (voir
+     * {@link GameStateDeltaResponse}). Instantané complet si le {@code tracker} ne couvre pas cette
+     * version, ou si le delta dépasse la moitié des cases (autant tout renvoyer).
+     */
+    public static GameStateDeltaResponse projectDelta(GameController controller, int viewerPlayer,
+                                                      BoardChangeTracker tracker, long sinceVersion,
+                                                      BoardEncoding boardEncoding) {
+        validateViewer(controller, viewerPlayer);
+        long version = tracker.version();
+        if (tracker.requiresFullSnapshot(sinceVersion)) {
+            return fullDelta(controller, viewerPlayer, tracker, sinceVersion, boardEncoding);
+        }
+        int boardSize = controller.getBoardSize();
+        int playerCount = controller.getPlayerCount();
+        DuelPhase phase = mapPhase(controller.getGameState());
+        int maxChanges = boardSize * boardSize * playerCount / 2;
+        List<CellChangeView> changes = new ArrayList<>();
+        for (int p = 1; p <= playerCount; p++) {
+            boolean ownBoard = (p == viewerPlayer);
+            long[] stamps = tracker.stampsFor(p, ownBoard);
+            Player player = controller.getPlayerByNumber(p);
+            String boardId = boardIdForPlayer(p);
+            for (int cell = 0; cell < stamps.length; cell++) {
+                if (stamps[cell] <= sinceVersion) {
+                    continue;
+                }
+                if (changes.size() == maxChanges) {
+                    return fullDelta(controller, viewerPlayer, tracker, sinceVersion, boardEncoding);
+                }
+                int x = cell % boardSize;
+                int y = cell / boardSize;
+                changes.add(new CellChangeView(boardId, x, y, projectCell(player, ownBoard, x, y, phase)));
+            }
+        }
+        return new GameStateDeltaResponse(sinceVersion, version, false,
+            project(controller, viewerPlayer, false), List.copyOf(changes));
+    }
+
+    private static GameStateDeltaResponse fullDelta(GameController controller, int viewerPlayer,
+                                                    BoardChangeTracker tracker, long sinceVersion,
+                                                    BoardEncoding boardEncoding) {
+        GameStateResponse state = withBoardEncoding(project(controller, viewerPlayer, tracker), boardEncoding);
+        return new GameStateDeltaResponse(sinceVersion, tracker.version(), true, state, List.of());
+    }
+
+    /** @param withCells {@code false} : planches sans cases (en-tête d'un delta) */
+    private static GameStateResponse project(GameController controller, int viewerPlayer, boolean withCells) {
         DuelPhase phase = mapPhase(controller.getGameState());
         int boardSize = controller.getBoardSize();
         int playerCount = controller.getPlayerCount();
 
         List<BoardStateView> boards = new ArrayList<>(playerCount);
         for (int p = 1; p <= playerCount; p++) {
-            Player player = controller.getPlayerByNumber(p);
             boolean ownBoard = (p == viewerPlayer);
-            boards.add(buildBoard(player, ownBoard, boardSize, phase, boardIdForPlayer(p)));
+            boards.add(withCells
+                ? buildBoard(controller.getPlayerByNumber(p), ownBoard, boardSize, phase, boardIdForPlayer(p))
+                : new BoardStateView(boardIdForPlayer(p), ownBoard, List.of()));
         }
 
         return new GameStateResponse(
@@ -99,7 +205,7 @@ public final class ApiGameStatePresenter {
 
     private static CellViewState projectCell(Player player, boolean ownBoard, int x, int y,
                                               DuelPhase phase) {
-        CellStatus status = player.getGrid().getCell(new Coordinate(x, y));
+        CellStatus status = player.getGrid().getCell(x, y);
         return switch (status) {
             case EMPTY -> CellViewState.EMPTY;
             case MISS  -> CellViewState.MISS;
@@ -0,0 +1,173 @@
+package com.ehv.api.presentation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.ehv.api.view.BoardEncoding;
+import com.ehv.api.view.DuelPhase;
+import com.ehv.api.view.GameStateResponse;
+import com.ehv.battleship.legacy.controller.GameController;
+import com.ehv.battleship.model.CellStatus;
+import com.ehv.battleship.model.Game;
+import com.ehv.battleship.model.GameState;
+import com.ehv.battleship.model.Grid;
+
+/**
+ * Numéro de version d'une partie et, pour chaque case, la version de son dernier changement.
+ *
+ * <p>Deux tampons par case : l'un pour le propriétaire de la planche, l'autre pour ses
+ * adversaires (brouillard : un navire posé ou retiré ne change rien pour eux). Un delta pour un
+ * spectateur se limite ainsi aux cases qu'il voit réellement changer, sans trahir un placement.
+ *
+ * <p>Nouvelle partie (reset, chargement) ou levée du brouillard en fin de partie : la version
+ * devient une <b>base</b> ; un client plus ancien reçoit un instantané complet.
+ *
+ * <p>La version avance aussi quand un champ scalaire visible change (phase, tour, cible, vainqueur,
+ * joueurs en vie, verrous de placement) : à version égale, la projection d'un spectateur est
+ * identique. Elle est donc mémorisée par spectateur jusqu'au prochain changement.
+ *
+ * <p>Non synchronisé : appelé sous le verrou de la session propriétaire, sauf {@link #cachedState}
+ * et {@link #cachedJson}. Les projections d'une version sont publiées dans un jeu de tables neuf
+ * à chaque changement (jamais vidé en place) : un lecteur sans verrou voit toujours une version
+ * entière, au pire celle qui précède la mutation en cours.
+ */
+public final class BoardChangeTracker {
+
+    private long version;
+    private long baseVersion;
+    private Game trackedGame;
+    private int boardSize;
+    private boolean revealed;
+    private CellStatus[][] lastStatus;
+    private long[][] ownerStamps;
+    private long[][] publicStamps;
+    private Header lastHeader;
+    private volatile PublishedViews published = new PublishedViews();
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Compare les grilles au dernier état connu et date les cases modifiées.
+     *
+     * @param mutated une action a été jouée : la version avance même si rien de visible n'a changé
+     */
+    public void sync(GameController controller, boolean mutated) {
+        Game game = controller.getGame();
+        boolean revealedNow = ApiGameStatePresenter.mapPhase(controller.getGameState()) == DuelPhase.GAME_OVER;
+        if (game != trackedGame
+                || controller.getBoardSize() != boardSize
+                || controller.getPlayerCount() != lastStatus.length
+                || revealedNow != revealed) {
+            rebase(controller, game, revealedNow);
+            return;
+        }
+        long next = version + 1;
+        boolean changed = false;
+        for (int p = 0; p < lastStatus.length; p++) {
+            Grid grid = controller.getPlayerByNumber(p + 1).getGrid();
+            CellStatus[] last = lastStatus[p];
+            for (int cell = 0; cell < last.length; cell++) {
+                CellStatus status = grid.getCell(cell % boardSize, cell / boardSize);
+                if (status == last[cell]) {
+                    continue;
+                }
+                ownerStamps[p][cell] = next;
+                if (fogged(status) != fogged(last[cell])) {
+                    publicStamps[p][cell] = next;
+                }
+                last[cell] = status;
+                changed = true;
+            }
+        }
+        Header header = Header.of(controller);
+        if (changed || mutated || !header.equals(lastHeader)) {
+            version = next;
+            lastHeader = header;
+            published = new PublishedViews();
+        }
+    }
+
+    /** Projection publiée pour ce spectateur à la dernière version, ou {@code null}. Sans verrou. */
+    public GameStateResponse cachedState(int viewerPlayer) {
+        return published.states.get(viewerPlayer);
+    }
+
+    void cacheState(int viewerPlayer, GameStateResponse state) {
+        published.states.put(viewerPlayer, state);
+    }
+
+    /** Projection encodée publiée pour ce spectateur et cet encodage de planche, ou {@code null}. Sans verrou. */
+    public byte[] cachedJson(int viewerPlayer, BoardEncoding encoding) {
+        return published.json.get(new EncodedViewKey(viewerPlayer, encoding));
+    }
+
+    void cacheJson(int viewerPlayer, BoardEncoding encoding, byte[] json) {
+        published.json.put(new EncodedViewKey(viewerPlayer, encoding), json);
+    }
+
+    /** Le client en {@code sinceVersion} ne peut pas être mis à jour par un delta. */
+    boolean requiresFullSnapshot(long sinceVersion) {
+        return trackedGame == null || sinceVersion < baseVersion || sinceVersion > version;
+    }
+
+    /** Version du dernier changement de chaque case de la planche {@code playerNumber}, vue par son propriétaire ou non. */
+    long[] stampsFor(int playerNumber, boolean ownBoard) {
+        return ownBoard ? ownerStamps[playerNumber - 1] : publicStamps[playerNumber - 1];
+    }
+
+    private void rebase(GameController controller, Game game, boolean revealedNow) {
+        version++;
+        baseVersion = version;
+        lastHeader = Header.of(controller);
+        published = new PublishedViews();
+        trackedGame = game;
+        boardSize = controller.getBoardSize();
+        revealed = revealedNow;
+        int players = controller.getPlayerCount();
+        int cells = boardSize * boardSize;
+        lastStatus = new CellStatus[players][cells];
+        ownerStamps = new long[players][cells];
+        publicStamps = new long[players][cells];
+        for (int p = 0; p < players; p++) {
+            Grid grid = controller.getPlayerByNumber(p + 1).getGrid();
+            for (int cell = 0; cell < cells; cell++) {
+                lastStatus[p][cell] = grid.getCell(cell % boardSize, cell / boardSize);
+            }
+        }
+    }
+
+    /** Champs scalaires de {@link GameStateResponse} qui peuvent changer sans toucher une case. */
+    private record Header(GameState state, int currentPlayer, Integer targetPlayer, Integer winner,
+                          int aliveMask, int lockedMask) {
+
+        static Header of(GameController controller) {
+            int alive = 0;
+            int locked = 0;
+            for (int p = 1; p <= controller.getPlayerCount(); p++) {
+                if (!controller.getPlayerByNumber(p).hasLost()) {
+                    alive |= 1 << p;
+                }
+                if (controller.isPlacementLocked(p)) {
+                    locked |= 1 << p;
+                }
+            }
+            return new Header(controller.getGameState(), controller.getCurrentPlayerNumber(),
+                controller.getCurrentTargetPlayer(), controller.getWinnerNumber(), alive, locked);
+        }
+    }
+
+    private record EncodedViewKey(int viewerPlayer, BoardEncoding encoding) {}
+
+    /** Projections d'une seule version ; remplacé, jamais vidé, quand la version avance. */
+    private static final class PublishedViews {
+        private final Map<Integer, GameStateResponse> states = new ConcurrentHashMap<>();
+        private final Map<EncodedViewKey, byte[]> json = new ConcurrentHashMap<>();
+    }
+
+    /** Ce que voit un adversaire tant que le brouillard tient. */
+    private static CellStatus fogged(CellStatus status) {
+        return status == CellStatus.SHIP ? CellStatus.EMPTY : status;
+    }
+}
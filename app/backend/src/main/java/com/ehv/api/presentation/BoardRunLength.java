@@ -0,0 +1,56 @@
+package com.ehv.api.presentation;
+
+import java.util.List;
+
+import com.ehv.api.view.CellViewState;
+
+/**
+ * Encodage compact d'une planche : cases lues ligne par ligne, chaque plage d'états identiques
+ * écrite {@code <code><longueur>} (longueur omise si 1). Codes : {@code E} vide, {@code S} navire,
+ * {@code M} manqué, {@code H} touché, {@code K} coulé.
+ *
+ * <p>Exemple : une planche 10×10 vide donne {@code E100} au lieu de cent {@code "EMPTY"}.
+ */
+public final class BoardRunLength {
+
+    private BoardRunLength() {}
+
+    public static String encode(List<List<CellViewState>> cells) {
+        StringBuilder out = new StringBuilder();
+        CellViewState run = null;
+        int length = 0;
+        for (List<CellViewState> row : cells) {
+            for (CellViewState cell : row) {
+                if (cell == run) {
+                    length++;
+                    continue;
+                }
+                appendRun(out, run, length);
+                run = cell;
+                length = 1;
+            }
+        }
+        appendRun(out, run, length);
+        return out.toString();
+    }
+
+    private static void appendRun(StringBuilder out, CellViewState state, int length) {
+        if (length == 0) {
+            return;
+        }
+        out.append(code(state));
+        if (length > 1) {
+            out.append(length);
+        }
+    }
+
+    private static char code(CellViewState state) {
+        return switch (state) {
+            case EMPTY -> 'E';
+            case SHIP -> 'S';
+            case MISS -> 'M';
+            case HIT -> 'H';
+            case SUNK -> 'K';
+        };
+    }
+}
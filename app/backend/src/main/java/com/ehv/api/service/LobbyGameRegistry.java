@@ -1,11 +1,23 @@
 package com.ehv.api.service;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.ehv.api.lobby.LobbyGameId;
 import com.ehv.api.session.GameSession;
+import com.ehv.battleship.persistence.GameJournal;
+import com.ehv.battleship.persistence.GamePersistence;
+
+import jakarta.annotation.PreDestroy;
 
 /**
  * Une instance de jeu HTTP par salon (identifiant court WebSocket). Sans {@code gameId}, une partie locale
@@ -13,18 +25,50 @@ import com.ehv.api.session.GameSession;
  *
  * <p>Le registre n'a aucune connaissance des règles : il distribue des {@link GameSession}
  * qui délèguent au contrôleur legacy.
+ *
+ * <p>Avec {@code app.persistence.journal.directory}, chaque partie de salon est journalisée
+ * ({@link GameJournal}) : après un redémarrage, le premier accès REST au salon (jeton de salon
+ * encore valide) reprend la partie. Le salon WebSocket lui-même (sièges, jetons de reprise) n'est
+ * pas persisté : un {@code JOIN_GAME} ne le retrouve pas. Les journaux que plus personne n'a
+ * touchés depuis {@code app.persistence.journal.max-age-hours} sont effacés au démarrage.
  */
 @Component
 public final class LobbyGameRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(LobbyGameRegistry.class);
 
     private final GameSession sharedLocalGame = new GameSession();
     private final ConcurrentHashMap<String, GameSession> lobbyGames = new ConcurrentHashMap<>();
+    private final Path journalDirectory;
+
+    public LobbyGameRegistry() {
+        this("", GamePersistence.DEFAULT_DURABILITY_WINDOW.toMillis(), 0);
+    }
+
+    /**
+     * @param journalDirectory répertoire des journaux de parties ; vide pour ne rien journaliser
+     * @param durabilityWindowMs fenêtre de regroupement des {@code fsync} (sauvegardes et journaux)
+     * @param journalMaxAgeHours âge au-delà duquel un journal orphelin est effacé au démarrage ; 0 pour tout garder
+     */
+    @Autowired
+    public LobbyGameRegistry(@Value("${app.persistence.journal.directory:}") String journalDirectory,
+                             @Value("${app.persistence.durability-window-ms:10}") long durabilityWindowMs,
+                             @Value("${app.persistence.journal.max-age-hours:24}") long journalMaxAgeHours) {
+        GamePersistence.configureDurabilityWindow(Duration.ofMillis(durabilityWindowMs));
+        this.journalDirectory = journalDirectory == null || journalDirectory.isBlank()
+            ? null
+            : Paths.get(journalDirectory).toAbsolutePath().normalize();
+        if (this.journalDirectory != null && journalMaxAgeHours > 0) {
+            deleteStaleJournals(Duration.ofHours(journalMaxAgeHours));
+        }
+    }
 
     public GameSession forLobbyOrLocal(String lobbyGameId) {
         if (lobbyGameId == null || lobbyGameId.isBlank()) {
             return sharedLocalGame;
         }
-        return lobbyGames.computeIfAbsent(normalizeLobbyId(lobbyGameId), key -> new GameSession());
+        // Ouverture et rejeu restent atomiques par salon (deux instances ne doivent pas compacter les mêmes
+        // fichiers) ; l'ouverture n'attend que le travail disque encore en file pour ce salon.
+        return lobbyGames.computeIfAbsent(normalizeLobbyId(lobbyGameId), this::openLobbyGame);
     }
 
     public GameSession getLobbyIfPresent(String lobbyGameId) {
@@ -40,13 +84,45 @@ public final class LobbyGameRegistry {
         if (normalized == null) {
             return;
         }
-        lobbyGames.remove(normalized);
+        GameSession removed = lobbyGames.remove(normalized);
+        if (removed != null) {
+            removed.discardJournal();
+        }
     }
 
     public int lobbyCount() {
         return lobbyGames.size();
     }
 
+    /** Les points de reprise encore dans la fenêtre de durabilité seraient perdus à la sortie de la JVM. */
+    @PreDestroy
+    void flushPendingWrites() {
+        GamePersistence.closeWriter();
+    }
+
+    private GameSession openLobbyGame(String lobbyGameId) {
+        if (journalDirectory == null) {
+            return new GameSession();
+        }
+        try {
+            return new GameSession(GameJournal.open(journalDirectory, lobbyGameId));
+        } catch (IOException | IllegalArgumentException exception) {
+            LOG.warn("JOURNAL_OPEN_FAILED gameId={} error={}", lobbyGameId, exception.getMessage());
+            return new GameSession();
+        }
+    }
+
+    private void deleteStaleJournals(Duration maxAge) {
+        try {
+            int deleted = GameJournal.deleteOlderThan(journalDirectory, maxAge);
+            if (deleted > 0) {
+                LOG.info("JOURNAL_STALE_DELETED games={} maxAgeHours={}", deleted, maxAge.toHours());
+            }
+        } catch (IOException exception) {
+            LOG.warn("JOURNAL_STALE_DELETE_FAILED error={}", exception.getMessage());
+        }
+    }
+
     private static String normalizeLobbyId(String lobbyGameId) {
         return LobbyGameId.normalize(lobbyGameId);
     }
@@ -2,6 +2,9 @@ package com.ehv.api.session;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.ehv.api.dto.ConfirmPlacementRequest;
 import com.ehv.api.dto.FireRequest;
@@ -10,12 +13,20 @@ import com.ehv.api.dto.RemoveShipRequest;
 import com.ehv.api.dto.ResetGameRequest;
 import com.ehv.api.presentation.ApiActionPresenter;
 import com.ehv.api.presentation.ApiGameStatePresenter;
+import com.ehv.api.presentation.BoardChangeTracker;
 import com.ehv.api.view.ActionResponse;
+import com.ehv.api.view.BoardEncoding;
+import com.ehv.api.view.GameStateDeltaResponse;
 import com.ehv.api.view.GameStateResponse;
+import com.ehv.api.view.SaveCatalogResponse;
 import com.ehv.api.view.SaveGameResponse;
 import com.ehv.battleship.legacy.controller.GameController;
 import com.ehv.battleship.legacy.controller.GameController.AiStepOutcome;
 import com.ehv.battleship.legacy.controller.GameController.ShotOutcome;
+import com.ehv.battleship.persistence.GameJournal;
+import com.ehv.battleship.persistence.GamePersistence;
+import com.ehv.battleship.persistence.JournalCommand;
+import com.ehv.battleship.persistence.SaveCatalog;
 
 /**
  * Façade API d'une partie. Une instance encapsule un unique {@link GameController}
@@ -24,10 +35,20 @@ import com.ehv.battleship.legacy.controller.GameController.ShotOutcome;
  *
  * <p>Aucune règle de jeu n'est implémentée ici : la session se contente de :
  * <ul>
- *   <li>sérialiser les accès (verrou monitor),</li>
+ *   <li>sérialiser les mutations (verrou monitor : un seul écrivain à la fois par partie),</li>
  *   <li>déléguer au {@link GameController},</li>
+ *   <li>dater chaque mutation ({@link BoardChangeTracker}) pour servir des deltas,</li>
  *   <li>projeter le résultat via les {@code com.ehv.api.presentation} presenters.</li>
  * </ul>
+ *
+ * <p>Lectures : la projection de la dernière version, une fois calculée pour un joueur, est
+ * publiée et relue <b>sans verrou</b>. Un sondage d'état n'attend donc pas la fin d'un tour IA
+ * ou d'un tir en cours ; il sert la version précédente, cohérente. Seul le premier lecteur
+ * d'une version prend le verrou pour la projeter. La progression IA
+ * ({@code advanceUntilHumanOrTerminal}) se fait à la mutation, plus à la lecture.
+ *
+ * <p>Adossée à un {@link GameJournal}, la session consigne chaque commande réussie et reprend,
+ * à la création, la partie consignée (redémarrage ou arrêt brutal du serveur).
  */
 public final class GameSession {
 
@@ -35,9 +56,22 @@ public final class GameSession {
     private static final int DEFAULT_BOARD_SIZE = 10;
 
     private final GameController controller = new GameController();
+    private final BoardChangeTracker changes = new BoardChangeTracker();
+    private final SessionJournal journal;
 
     public GameSession() {
+        this(null);
+    }
+
+    /** @param journal journal de la partie, ou {@code null} ; s'il contient une partie, elle est reprise */
+    public GameSession(GameJournal journal) {
         // Le contrôleur s'initialise sur la configuration par défaut.
+        this.journal = journal == null ? null : new SessionJournal(journal);
+        if (this.journal != null) {
+            this.journal.replayInto(controller);
+        }
+        controller.advanceUntilHumanOrTerminal();
+        changes.sync(controller, false);
     }
 
     // ---------------------------------------------------------------------
@@ -45,7 +79,7 @@ public final class GameSession {
     // ---------------------------------------------------------------------
 
     public synchronized GameStateResponse resetDefaults() {
-        controller.reset(DEFAULT_BOARD_SIZE, DEFAULT_FLEET, null, false, null);
+        mutate(() -> controller.reset(DEFAULT_BOARD_SIZE, DEFAULT_FLEET, null, false, null), null);
         return getStateForPlayer(viewSlotForClients());
     }
 
@@ -56,18 +90,18 @@ public final class GameSession {
                 || request.fleetShipSizes().isEmpty()) {
             return resetDefaults();
         }
-        controller.reset(
+        mutate(() -> controller.reset(
             request.boardSize(),
             request.fleetShipSizes(),
             request.playerCount(),
             request.withAI(),
             request.humanPlayers()
-        );
+        ), null);
         return getStateForPlayer(viewSlotForClients());
     }
 
     public synchronized GameStateResponse autoPlaceFleet() {
-        controller.autoPlaceFleetForAllPlayers();
+        mutate(controller::autoPlaceFleetForAllPlayers, JournalCommand.autoPlace());
         return getStateForPlayer(viewSlotForClients());
     }
 
@@ -76,28 +110,30 @@ public final class GameSession {
     // ---------------------------------------------------------------------
 
     public synchronized ActionResponse placeShip(PlaceShipRequest request) {
-        controller.placeShipForPlayer(
+        mutate(() -> controller.placeShipForPlayer(
             request.player(),
             request.shipType(),
             request.x(),
             request.y(),
             request.orientation()
-        );
+        ), JournalCommand.placeShip(
+            request.player(), request.shipType(), request.x(), request.y(), request.orientation()));
         return ApiActionPresenter.placed(controller, request.player());
     }
 
     public synchronized ActionResponse removePlacedShip(RemoveShipRequest request) {
-        controller.removeShipForPlayer(
+        mutate(() -> controller.removeShipForPlayer(
             request.player(),
             request.shipType(),
             request.x(),
             request.y()
-        );
+        ), JournalCommand.removeShip(request.player(), request.shipType(), request.x(), request.y()));
         return ApiActionPresenter.removed(controller, request.player());
     }
 
     public synchronized ActionResponse confirmPlacement(ConfirmPlacementRequest request) {
-        controller.confirmPlacementForPlayer(request.player());
+        mutate(() -> controller.confirmPlacementForPlayer(request.player()),
+            JournalCommand.confirmPlacement(request.player()));
         return ApiActionPresenter.confirmed(controller, request.player());
     }
 
@@ -106,24 +142,24 @@ public final class GameSession {
     // ---------------------------------------------------------------------
 
     public synchronized ActionResponse fireAt(FireRequest request) {
-        ShotOutcome outcome = controller.fireAt(
+        ShotOutcome outcome = mutateAndGet(() -> controller.fireAt(
             request.player(),
             request.x(),
             request.y(),
             request.targetPlayer()
-        );
+        ), JournalCommand.fire(request.player(), request.x(), request.y(), request.targetPlayer()));
         return ApiActionPresenter.shot(controller, request.player(), outcome);
     }
 
     /** Renvoie l'état après progression (ne tire pas) — utilisé par certains scénarios. */
     public synchronized GameStateResponse advanceAiSingleStepAndGetState() {
-        controller.advanceAiSingleStep();
+        mutate(controller::advanceAiSingleStep, JournalCommand.aiStep());
         return getStateForPlayer(viewSlotForClients());
     }
 
     /** Avance et renvoie l'action effectuée (ou MISS neutre si rien à faire). */
     public synchronized ActionResponse advanceAiSingleStepAndGetAction() {
-        AiStepOutcome step = controller.advanceAiSingleStep();
+        AiStepOutcome step = mutateAndGet(controller::advanceAiSingleStep, JournalCommand.aiStep());
         if (step == null || !step.hasShot()) {
             return ApiActionPresenter.aiSkipped(controller, viewSlotForClients());
         }
@@ -135,7 +171,7 @@ public final class GameSession {
     // ---------------------------------------------------------------------
 
     public synchronized GameStateResponse forfeitPlayer(int forfeitingPlayer) {
-        controller.forfeitPlayer(forfeitingPlayer);
+        mutate(() -> controller.forfeitPlayer(forfeitingPlayer), JournalCommand.forfeit(forfeitingPlayer));
         return getStateForPlayer(viewSlotForClients());
     }
 
@@ -143,38 +179,94 @@ public final class GameSession {
     // Lecture / persistance
     // ---------------------------------------------------------------------
 
-    public synchronized GameStateResponse getStateForPlayer(int player) {
-        controller.advanceUntilHumanOrTerminal();
-        return ApiGameStatePresenter.project(controller, player);
+    public GameStateResponse getStateForPlayer(int player) {
+        GameStateResponse published = changes.cachedState(player);
+        if (published != null) {
+            return published;
+        }
+        synchronized (this) {
+            changes.sync(controller, false);
+            return ApiGameStatePresenter.project(controller, player, changes);
+        }
+    }
+
+    /**
+     * {@link #getStateForPlayer} déjà encodé : tant que rien n'a changé, les sondages répétés d'un
+     * même joueur renvoient les mêmes octets sans reprojeter, réencoder ni prendre le verrou.
+     */
+    public byte[] getStateJsonForPlayer(int player, BoardEncoding boardEncoding,
+                                        Function<GameStateResponse, byte[]> encoder) {
+        byte[] published = changes.cachedJson(player, boardEncoding);
+        if (published != null) {
+            return published;
+        }
+        synchronized (this) {
+            changes.sync(controller, false);
+            return ApiGameStatePresenter.projectJson(controller, player, boardEncoding, changes, encoder);
+        }
+    }
+
+    /** Cases changées depuis {@code sinceVersion} ; instantané complet si l'écart est trop grand. */
+    public synchronized GameStateDeltaResponse getStateDeltaForPlayer(int player, long sinceVersion) {
+        return getStateDeltaForPlayer(player, sinceVersion, BoardEncoding.CELLS);
+    }
+
+    public synchronized GameStateDeltaResponse getStateDeltaForPlayer(int player, long sinceVersion,
+                                                                      BoardEncoding boardEncoding) {
+        changes.sync(controller, false);
+        return ApiGameStatePresenter.projectDelta(controller, player, changes, sinceVersion, boardEncoding);
     }
 
-    public synchronized List<String> listSaveFiles() {
-        return controller.listSaveFiles();
+    /** Lit le catalogue en mémoire : ne prend pas le verrou de la partie. */
+    public List<String> listSaveFiles(String prefix, int offset, int limit) {
+        return GamePersistence.catalog().names(prefix, offset, limit);
+    }
+
+    /** Page du catalogue avec le résumé de chaque partie ; hors verrou, comme {@link #listSaveFiles}. */
+    public SaveCatalogResponse saveCatalog(String prefix, int offset, int limit) {
+        SaveCatalog.Page page = GamePersistence.catalog().page(prefix, offset, limit);
+        List<SaveCatalogResponse.Item> items = page.items().stream()
+            .map(entry -> new SaveCatalogResponse.Item(entry.name(), entry.sizeBytes(), entry.modifiedAtMillis(),
+                entry.summary().players(), entry.summary().boardSize(), entry.summary().phase()))
+            .toList();
+        return new SaveCatalogResponse(items, page.offset(), page.hasMore());
     }
 
     public synchronized GameStateResponse loadGame(String fileName) {
-        try {
-            controller.loadAndAttachGame(fileName);
-        } catch (IOException exception) {
-            throw new IllegalArgumentException("Erreur de chargement: " + exception.getMessage());
-        }
+        mutate(() -> {
+            try {
+                controller.loadAndAttachGame(fileName);
+            } catch (IOException exception) {
+                throw new IllegalArgumentException("Erreur de chargement: " + exception.getMessage());
+            }
+        }, null);
         return getStateForPlayer(viewSlotForClients());
     }
 
-    public synchronized SaveGameResponse saveGame(String fileName) {
+    /** Sérialise sous le verrou, attend l'écriture groupée hors verrou : les coups continuent pendant le disque. */
+    public SaveGameResponse saveGame(String fileName) {
+        CompletableFuture<Void> written;
+        String content;
+        GameStateResponse state;
+        synchronized (this) {
+            try {
+                written = controller.saveGameAsync(fileName);
+            } catch (IOException exception) {
+                throw new IllegalArgumentException("Erreur de sauvegarde: " + exception.getMessage());
+            }
+            content = controller.exportSnapshotJson();
+            state = getStateForPlayer(viewSlotForClients());
+        }
         try {
-            controller.saveGame(fileName);
+            GamePersistence.awaitDurable(written);
         } catch (IOException exception) {
             throw new IllegalArgumentException("Erreur de sauvegarde: " + exception.getMessage());
         }
-        String normalized = normalizeSaveFileName(fileName);
-        String content = controller.exportSnapshotJson();
-        GameStateResponse state = getStateForPlayer(viewSlotForClients());
-        return new SaveGameResponse(state, normalized, content);
+        return new SaveGameResponse(state, normalizeSaveFileName(fileName), content);
     }
 
     public synchronized GameStateResponse loadGameFromContent(String json) {
-        controller.loadFromSnapshotJson(json);
+        mutate(() -> controller.loadFromSnapshotJson(json), null);
         return getStateForPlayer(viewSlotForClients());
     }
 
@@ -190,6 +282,62 @@ public final class GameSession {
     // Helpers
     // ---------------------------------------------------------------------
 
+    /** Partie évincée : son journal n'a plus rien à reprendre. */
+    public synchronized void discardJournal() {
+        if (journal != null) {
+            journal.discard();
+        }
+    }
+
+    private void mutate(Runnable action, JournalCommand command) {
+        mutateAndGet(() -> {
+            action.run();
+            return null;
+        }, command);
+    }
+
+    /**
+     * Exécute une mutation du contrôleur puis publie la nouvelle version et la consigne, même si
+     * elle échoue à mi-chemin (auto-placement qui verrouille des joueurs avant de lever) : l'état
+     * servi et le journal suivent toujours le contrôleur.
+     *
+     * @param command commande à consigner si la mutation réussit ; {@code null} pour un point de reprise
+     */
+    private <T> T mutateAndGet(Supplier<T> action, JournalCommand command) {
+        boolean completed = false;
+        try {
+            T result = action.get();
+            completed = true;
+            return result;
+        } finally {
+            markMutated();
+            if (completed && command != null) {
+                record(command);
+            } else {
+                // Un échec peut avoir modifié la partie : seule une copie complète la rejoue fidèlement.
+                checkpoint();
+            }
+        }
+    }
+
+    private void record(JournalCommand command) {
+        if (journal != null) {
+            journal.record(controller, command);
+        }
+    }
+
+    private void checkpoint() {
+        if (journal != null) {
+            journal.checkpoint(controller);
+        }
+    }
+
+    /** Termine les placements IA en attente puis date la mutation et publie la nouvelle version. */
+    private void markMutated() {
+        controller.advanceUntilHumanOrTerminal();
+        changes.sync(controller, true);
+    }
+
     /** Premier humain encore en jeu (hotseat sur poste unique). */
     private int viewSlotForClients() {
         int humans = controller.getHumanSlots();
@@ -0,0 +1,102 @@
+package com.ehv.api.session;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ehv.battleship.legacy.controller.GameController;
+import com.ehv.battleship.persistence.GameJournal;
+import com.ehv.battleship.persistence.JournalCommand;
+
+/**
+ * Branche un {@link GameJournal} sur une {@link GameSession} : consigne chaque commande réussie,
+ * compacte tous les {@value #COMPACT_EVERY} coups, et rejoue le journal à la reprise à travers le
+ * {@link GameController} legacy (mêmes règles, même aléa puisque les flux sont dans l'instantané).
+ *
+ * <p>Une erreur disque ne fait jamais échouer un coup : elle est journalisée et la prochaine
+ * écriture repart d'un instantané complet. Appelé sous le verrou de la session.
+ */
+final class SessionJournal {
+    private static final Logger LOG = LoggerFactory.getLogger(SessionJournal.class);
+
+    static final int COMPACT_EVERY = 128;
+
+    private final GameJournal journal;
+    private boolean needsCheckpoint;
+
+    SessionJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Restaure l'instantané puis rejoue les commandes ; sans journal existant, écrit l'état
+     * courant comme point de départ.
+     *
+     * @return nombre de commandes rejouées, ou -1 si rien n'était à reprendre
+     */
+    int replayInto(GameController controller) {
+        try {
+            GameJournal.Recovered recovered = journal.recover();
+            if (recovered == null) {
+                checkpoint(controller);
+                return -1;
+            }
+            controller.restoreSnapshot(recovered.snapshot());
+            for (JournalCommand command : recovered.commands()) {
+                apply(controller, command);
+            }
+            return recovered.commands().size();
+        } catch (IOException | RuntimeException exception) {
+            LOG.warn("JOURNAL_REPLAY_FAILED error={}", exception.getMessage());
+            checkpoint(controller);
+            return -1;
+        }
+    }
+
+    void record(GameController controller, JournalCommand command) {
+        if (needsCheckpoint || journal.pendingCommands() >= COMPACT_EVERY) {
+            checkpoint(controller);
+            return;
+        }
+        try {
+            journal.append(command);
+        } catch (IOException | RuntimeException exception) {
+            LOG.warn("JOURNAL_APPEND_FAILED type={} error={}", command.type(), exception.getMessage());
+            checkpoint(controller);
+        }
+    }
+
+    /** Nouvelle partie, chargement ou compaction : l'état courant devient le point de départ. */
+    void checkpoint(GameController controller) {
+        try {
+            journal.checkpoint(controller.exportSnapshot());
+            needsCheckpoint = false;
+        } catch (IOException | RuntimeException exception) {
+            needsCheckpoint = true;
+            LOG.warn("JOURNAL_CHECKPOINT_FAILED error={}", exception.getMessage());
+        }
+    }
+
+    void discard() {
+        try {
+            journal.delete();
+        } catch (IOException exception) {
+            LOG.warn("JOURNAL_DELETE_FAILED error={}", exception.getMessage());
+        }
+    }
+
+    private static void apply(GameController controller, JournalCommand command) {
+        switch (command.type()) {
+            case PLACE_SHIP -> controller.placeShipForPlayer(
+                command.player(), command.shipType(), command.x(), command.y(), command.orientation());
+            case REMOVE_SHIP -> controller.removeShipForPlayer(
+                command.player(), command.shipType(), command.x(), command.y());
+            case CONFIRM_PLACEMENT -> controller.confirmPlacementForPlayer(command.player());
+            case AUTO_PLACE -> controller.autoPlaceFleetForAllPlayers();
+            case FIRE -> controller.fireAt(command.player(), command.x(), command.y(), command.targetPlayer());
+            case AI_STEP -> controller.advanceAiSingleStep();
+            case FORFEIT -> controller.forfeitPlayer(command.player());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ehv.api.view;
+
+import java.util.Locale;
+
+/**
+ * Représentation des cases dans les réponses d'état, choisie par le client
+ * ({@code boardEncoding=rle}) ; {@link #CELLS} par défaut pour les clients existants.
+ */
+public enum BoardEncoding {
+    /** {@code cells} : lignes de noms d'états. */
+    CELLS,
+    /** {@code cellsRle} : plages d'états consécutifs (voir {@code BoardRunLength}). */
+    RLE;
+
+    public static BoardEncoding fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return CELLS;
+        }
+        return switch (value.strip().toLowerCase(Locale.ROOT)) {
+            case "cells" -> CELLS;
+            case "rle" -> RLE;
+            default -> throw new IllegalArgumentException("Encodage de plateau inconnu : " + value);
+        };
+    }
+}
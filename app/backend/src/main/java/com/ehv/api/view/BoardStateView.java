@@ -2,9 +2,20 @@ package com.ehv.api.view;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Planche d'un joueur : {@code cells} (format historique) ou {@code cellsRle} (format compact
+ * demandé via {@link BoardEncoding#RLE}), jamais les deux.
+ */
 public record BoardStateView(
     String boardId,
     boolean ownBoard,
-    List<List<CellViewState>> cells
+    @JsonInclude(JsonInclude.Include.NON_NULL) List<List<CellViewState>> cells,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String cellsRle
 ) {
+
+    public BoardStateView(String boardId, boolean ownBoard, List<List<CellViewState>> cells) {
+        this(boardId, ownBoard, cells, null);
+    }
 }
@@ -0,0 +1,10 @@
+package com.ehv.api.view;
+
+/** Case dont la projection a changé depuis la version demandée par le client. */
+public record CellChangeView(
+    String boardId,
+    int x,
+    int y,
+    CellViewState state
+) {
+}
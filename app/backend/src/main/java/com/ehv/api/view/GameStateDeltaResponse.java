@@ -0,0 +1,20 @@
+package com.ehv.api.view;
+
+import java.util.List;
+
+/**
+ * Mise à jour incrémentale de l'état de jeu depuis {@code sinceVersion}.
+ *
+ * <p>{@code fullSnapshot} : {@code state} est complet et remplace l'état du client (écart trop
+ * grand, nouvelle partie, fin de partie qui lève le brouillard). Sinon, {@code state} ne porte
+ * que les champs scalaires et des planches sans cases ; le client applique {@code changes} sur
+ * ses cases. Dans les deux cas, {@code version} est à renvoyer au prochain appel.
+ */
+public record GameStateDeltaResponse(
+    long sinceVersion,
+    long version,
+    boolean fullSnapshot,
+    GameStateResponse state,
+    List<CellChangeView> changes
+) {
+}
@@ -0,0 +1,23 @@
+package com.ehv.api.view;
+
+import java.util.List;
+
+/**
+ * Page du catalogue des sauvegardes serveur, triée par nom. Les champs de partie valent
+ * {@code 0}/{@code "ILLISIBLE"} pour un fichier qui n'a pas pu être décodé.
+ */
+public record SaveCatalogResponse(
+    List<Item> items,
+    int offset,
+    boolean hasMore
+) {
+    public record Item(
+        String name,
+        long sizeBytes,
+        long modifiedAtMillis,
+        int players,
+        int boardSize,
+        String phase
+    ) {
+    }
+}
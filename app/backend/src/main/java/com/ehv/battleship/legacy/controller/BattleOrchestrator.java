@@ -35,7 +35,7 @@ final class BattleOrchestrator {
         }
         validateCoordinateBounds(x, y);
         int target = resolveTargetForShooter(shooter, requestedTarget, false);
-        ShotResult result = executeShot(shooter, target, new Coordinate(x, y));
+        ShotResult result = executeShot(shooter, target, Coordinate.of(x, y));
         return new ShotOutcome(shooter, target, x, y, result);
     }
 
@@ -70,7 +70,8 @@ final class BattleOrchestrator {
         int target = resolveTargetForShooter(shooter, null, true);
         Coordinate coordinate = ai.chooseTargetForDefender(target);
         ShotResult result = executeShot(shooter, target, coordinate);
-        ai.handleShotResult(target, coordinate, result);
+        ai.handleShotResult(target, coordinate, result,
+            state.playerByNumber(target).getSunkShipCoordinatesAt(coordinate));
         return new AiStepOutcome(
             new ShotOutcome(shooter, target, coordinate.getX(), coordinate.getY(), result),
             shooter);
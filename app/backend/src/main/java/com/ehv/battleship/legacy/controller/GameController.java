@@ -1,20 +1,18 @@
 package com.ehv.battleship.legacy.controller;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
 
 import com.ehv.battleship.model.AI;
-import com.ehv.battleship.model.CellStatus;
 import com.ehv.battleship.model.Coordinate;
 import com.ehv.battleship.model.Game;
+import com.ehv.battleship.model.GameRandom;
 import com.ehv.battleship.model.GameState;
 import com.ehv.battleship.model.Player;
 import com.ehv.battleship.model.Ship;
@@ -101,6 +99,16 @@ public class GameController {
     public synchronized void reset(int boardSize, List<Integer> newFleetSizes,
                                    Integer requestedPlayerCount, Boolean withAI,
                                    Integer humanPlayers) {
+        reset(boardSize, newFleetSizes, requestedPlayerCount, withAI, humanPlayers, GameRandom.freshSeed());
+    }
+
+    /**
+     * Comme {@link #reset(int, List, Integer, Boolean, Integer)} avec une graine imposée : placements
+     * automatiques et décisions des IA sont rejouables (tests de charge, bissection de régressions).
+     */
+    public synchronized void reset(int boardSize, List<Integer> newFleetSizes,
+                                   Integer requestedPlayerCount, Boolean withAI,
+                                   Integer humanPlayers, long seed) {
         int normalizedBoardSize = Math.max(5, boardSize);
         int playerCount = normalizePlayerCount(requestedPlayerCount);
         int humans = humanSlotsFromRequest(withAI, humanPlayers, playerCount);
@@ -119,7 +127,7 @@ public class GameController {
 
         Game replacement = new Game(normalizedBoardSize, players);
         replacement.setState(GameState.PLACEMENT);
-        state.replaceGame(replacement, sizes, humans);
+        state.replaceGame(replacement, sizes, humans, seed);
         state.game.setCurrentPlayerByNumber(1);
         advanceUntilHumanOrTerminal();
     }
@@ -172,6 +180,11 @@ public class GameController {
         GamePersistence.saveSnapshot(buildSnapshot(), filePath);
     }
 
+    /** Sérialise maintenant, écrit au prochain lot de {@link GamePersistence} : n'attend pas le disque. */
+    public synchronized CompletableFuture<Void> saveGameAsync(String filePath) throws IOException {
+        return GamePersistence.saveSnapshotAsync(buildSnapshot(), filePath, GamePersistence.SaveFormat.BINARY);
+    }
+
     public synchronized void loadAndAttachGame(String fileName) throws IOException {
         applySnapshot(GamePersistence.loadSnapshot(fileName));
     }
@@ -180,22 +193,18 @@ public class GameController {
         applySnapshot(GamePersistence.fromJson(json));
     }
 
-    public synchronized List<String> listSaveFiles() {
-        Path savesDir = GamePersistence.savesDirectory();
-        if (!Files.exists(savesDir)) {
-            return List.of();
-        }
-        try (Stream<Path> paths = Files.list(savesDir)) {
-            return paths
-                .filter(Files::isRegularFile)
-                .map(path -> path.getFileName().toString())
-                .filter(name -> name.endsWith(".save"))
-                .map(name -> name.substring(0, name.length() - ".save".length()))
-                .sorted()
-                .toList();
-        } catch (IOException exception) {
-            throw new IllegalStateException("Impossible de lister les sauvegardes", exception);
-        }
+    /** Instantané de l'état courant ; partage le modèle vivant, à sérialiser aussitôt. */
+    public synchronized SavedGameSnapshot exportSnapshot() {
+        return buildSnapshot();
+    }
+
+    public synchronized void restoreSnapshot(SavedGameSnapshot snapshot) {
+        applySnapshot(snapshot);
+    }
+
+    /** Noms des sauvegardes, lus dans le catalogue en mémoire (ni verrou ni parcours du répertoire). */
+    public List<String> listSaveFiles() {
+        return GamePersistence.catalog().names("", 0, Integer.MAX_VALUE);
     }
 
     private SavedGameSnapshot buildSnapshot() {
@@ -207,14 +216,20 @@ public class GameController {
             copyPlacedShipTypes(state.placedShipTypesByPlayer),
             new LinkedHashMap<>(state.lockedTargetByPlayer),
             List.copyOf(state.placementCompletionOrder),
-            state.cachedWinner);
+            state.cachedWinner,
+            state.seed,
+            state.random.copy());
     }
 
     private void applySnapshot(SavedGameSnapshot snapshot) {
         if (snapshot == null || snapshot.getGame() == null) {
             throw new IllegalArgumentException("Sauvegarde invalide");
         }
-        state.replaceGame(snapshot.getGame(), snapshot.getFleetSizes(), snapshot.getHumanSlots());
+        long seed = snapshot.getSeed() == null ? GameRandom.freshSeed() : snapshot.getSeed();
+        state.replaceGame(snapshot.getGame(), snapshot.getFleetSizes(), snapshot.getHumanSlots(), seed);
+        if (snapshot.getRandom() != null) {
+            state.random = snapshot.getRandom().copy();
+        }
         state.placementLockedByPlayer.clear();
         state.placementLockedByPlayer.putAll(snapshot.placementLockedByPlayerAsIntMap());
         state.placedShipTypesByPlayer.clear();
@@ -277,6 +292,7 @@ public class GameController {
     public int getCurrentPlayerNumber() { return state.game.getCurrentPlayerNumber(); }
     public int getHumanSlots() { return state.humanSlots; }
     public List<Integer> getFleetSizes() { return List.copyOf(state.fleetSizes); }
+    public long getSeed() { return state.seed; }
     public Map<String, Integer> getFleetByType() { return Map.copyOf(state.fleetByType); }
     public boolean isHumanSlot(int playerNumber) { return state.isHumanSlot(playerNumber); }
     public boolean isAiSlot(int playerNumber) {
@@ -358,7 +374,7 @@ public class GameController {
 
     public void placeShip(int x, int y, int size, ShipOrientation orientation, String shipName) {
         Player current = getCurrentPlayer();
-        Coordinate startCoord = new Coordinate(x, y);
+        Coordinate startCoord = Coordinate.of(x, y);
         if (!isCoordinateInRange(x, y)) {
             throw new IllegalArgumentException("Coordonnées hors de la grille");
         }
@@ -380,7 +396,7 @@ public class GameController {
 
     public boolean canPlaceShip(int x, int y, int size, ShipOrientation orientation) {
         Player current = getCurrentPlayer();
-        Coordinate startCoord = new Coordinate(x, y);
+        Coordinate startCoord = Coordinate.of(x, y);
         if (!isCoordinateInRange(x, y)) return false;
         if (!current.getGrid().canPlaceShip(startCoord, size, orientation)) return false;
         List<Coordinate> coordinates = current.getGrid().generateShipCoordinates(startCoord, size, orientation);
@@ -450,7 +466,7 @@ public class GameController {
     public ShotResult playShot(int x, int y) {
         Player current = getCurrentPlayer();
         Player target = getTargetPlayer();
-        return state.game.shoot(current, target, new Coordinate(x, y));
+        return state.game.shoot(current, target, Coordinate.of(x, y));
     }
 
     public ShotResult playShot(Player target, int x, int y) {
@@ -458,7 +474,7 @@ public class GameController {
         Player current = getCurrentPlayer();
         if (current.equals(target)) throw new IllegalArgumentException("Un joueur ne peut pas se cibler lui-même");
         if (target.hasLost()) throw new IllegalArgumentException("Ce joueur est déjà éliminé");
-        return state.game.shoot(current, target, new Coordinate(x, y));
+        return state.game.shoot(current, target, Coordinate.of(x, y));
     }
 
     public void endTurn() {
@@ -503,7 +519,8 @@ public class GameController {
         ShootDecision decision = ai.chooseShootingTarget(state.game, selfNumber);
         Player target = state.game.getPlayers().get(decision.defenderNumber() - 1);
         ShotResult result = state.game.shoot(current, target, decision.coordinate());
-        ai.handleShotResult(decision.defenderNumber(), decision.coordinate(), result);
+        ai.handleShotResult(decision.defenderNumber(), decision.coordinate(), result,
+            target.getSunkShipCoordinatesAt(decision.coordinate()));
         return decision.coordinate();
     }
 
@@ -572,13 +589,7 @@ public class GameController {
         if (state.game.getState() == GameState.FINISHED || state.game.isFinished()) {
             return null;
         }
-        Player forfeit = getPlayerByNumber(forfeitingPlayer);
-        for (Ship ship : forfeit.getFleet().getShips()) {
-            ship.setSunk(true);
-            for (Coordinate c : ship.getCoordinates()) {
-                forfeit.getGrid().setCell(c, CellStatus.SUNK);
-            }
-        }
+        state.game.forfeit(getPlayerByNumber(forfeitingPlayer));
         Integer next = null;
         for (int p = 1; p <= playerCount; p++) {
             if (p == forfeitingPlayer) continue;
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import com.ehv.battleship.model.AI;
+import com.ehv.battleship.model.FleetLayoutSolver;
 import com.ehv.battleship.model.Game;
 import com.ehv.battleship.model.Player;
 
@@ -60,10 +61,27 @@ public final class GameFactories {
         return new Game(gridSize, players);
     }
 
+    /** Partie sans humain (simulations, tests de charge) : {@code aiCount} IA, 2 ou 4. */
+    public static Game createAiOnlyGame(int gridSize, List<Integer> fleetShipSizes, int aiCount) {
+        validateFleet(gridSize, fleetShipSizes);
+        if (aiCount != 2 && aiCount != 4) {
+            throw new IllegalArgumentException("Le nombre de joueurs doit être 2 ou 4.");
+        }
+        List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= aiCount; i++) {
+            players.add(new AI("Ordinateur " + i, gridSize, fleetShipSizes));
+        }
+        return new Game(gridSize, players);
+    }
+
+    /**
+     * Vrai si la flotte peut effectivement être posée sur la grille (voir {@link FleetLayoutSolver}),
+     * pas seulement si le total des cases tient.
+     */
     public static boolean isValidFleetConfiguration(int gridSize, List<Integer> shipSizes) {
         int total = 0;
         for (Integer size : shipSizes) if (size != null) total += size;
-        return total <= gridSize * gridSize;
+        return total <= gridSize * gridSize && FleetLayoutSolver.isFeasible(gridSize, nonNullSizes(shipSizes));
     }
 
     static void validateFleet(int gridSize, List<Integer> sizes) {
@@ -71,8 +89,12 @@ public final class GameFactories {
             int total = 0;
             for (Integer s : sizes) if (s != null) total += s;
             int cells = gridSize * gridSize;
-            throw new IllegalArgumentException(
-                "Le total des cases de navires (" + total + ") dépasse le nombre de cases (" + cells + ").");
+            if (total > cells) {
+                throw new IllegalArgumentException(
+                    "Le total des cases de navires (" + total + ") dépasse le nombre de cases (" + cells + ").");
+            }
+            throw new IllegalArgumentException("Aucune disposition possible de la flotte " + sizes
+                + " sur une grille " + gridSize + "x" + gridSize + ".");
         }
     }
 
@@ -84,5 +106,17 @@ public final class GameFactories {
             throw new IllegalArgumentException(
                 "Flotte invalide: " + total + " cases pour une grille " + boardSize + "x" + boardSize + ".");
         }
+        List<Integer> normalized = new ArrayList<>(sizes.size());
+        for (Integer s : sizes) normalized.add(Math.max(1, (s == null ? 0 : s)));
+        if (!FleetLayoutSolver.isFeasible(boardSize, normalized)) {
+            throw new IllegalArgumentException(
+                "Flotte invalide: aucune disposition possible sur une grille " + boardSize + "x" + boardSize + ".");
+        }
+    }
+
+    private static List<Integer> nonNullSizes(List<Integer> sizes) {
+        List<Integer> present = new ArrayList<>(sizes.size());
+        for (Integer s : sizes) if (s != null) present.add(s);
+        return present;
     }
 }
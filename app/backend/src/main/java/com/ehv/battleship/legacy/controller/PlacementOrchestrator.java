@@ -1,14 +1,19 @@
 package com.ehv.battleship.legacy.controller;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
 import com.ehv.battleship.model.CellStatus;
 import com.ehv.battleship.model.Coordinate;
+import com.ehv.battleship.model.FleetLayoutSolver;
 import com.ehv.battleship.model.GameState;
+import com.ehv.battleship.model.PlacementMasks;
 import com.ehv.battleship.model.Player;
 import com.ehv.battleship.model.Ship;
 import com.ehv.battleship.model.ShipOrientation;
+import com.ehv.battleship.model.ShipPlacement;
 
 /**
  * Logique de placement (manuel + automatique IA + verrouillage). Opère sur l'état partagé
@@ -17,7 +22,6 @@ import com.ehv.battleship.model.ShipOrientation;
  */
 final class PlacementOrchestrator {
 
-    private static final int MAX_AI_PLACEMENT_ITERATIONS = 3000;
     private final SessionState state;
 
     PlacementOrchestrator(SessionState state) {
@@ -48,7 +52,7 @@ final class PlacementOrchestrator {
         Player current = state.playerByNumber(playerNumber);
         int shipSize = state.fleetByType.get(normalizedType);
         List<Coordinate> coordinates = current.getGrid()
-            .generateShipCoordinates(new Coordinate(x, y), shipSize, parsed);
+            .generateShipCoordinates(Coordinate.of(x, y), shipSize, parsed);
         validatePlacementCoordinates(current, coordinates);
         Ship ship = new Ship(Ship.generateId(), normalizedType, shipSize, coordinates, parsed);
         state.game.placeShip(current, ship);
@@ -101,9 +105,12 @@ final class PlacementOrchestrator {
         ensurePlacementPhase("Le placement automatique est disponible uniquement pendant la phase PLACEMENT");
         int playerCount = state.playerCount();
         for (int p = 1; p <= playerCount; p++) {
-            for (String shipType : state.fleetByType.keySet()) {
+            // Pris avant le tirage : le solveur ne doit garder que ces navires, pas ceux tirés ci-dessous.
+            Set<String> keptShipTypes = shipTypesPlacedByHand(p);
+            for (String shipType : missingShipTypesLargestFirst(p)) {
+                // Le repli sur le solveur pose tous les navires manquants d'un coup.
                 if (!state.placedShipTypesByPlayer.get(p).contains(shipType)) {
-                    placeShipRandomly(p, shipType);
+                    placeShipRandomly(p, shipType, keptShipTypes);
                 }
             }
             state.placementLockedByPlayer.put(p, true);
@@ -116,29 +123,83 @@ final class PlacementOrchestrator {
         state.game.setCurrentPlayerByNumber(1);
     }
 
+    /**
+     * Tire uniformément un emplacement libre (voir {@link PlacementMasks}) : pas de boucle
+     * d'essais. En cas d'impasse, bascule sur une disposition calculée par
+     * {@link FleetLayoutSolver} ; échec seulement si la flotte ne tient réellement pas.
+     */
     void placeShipRandomly(int playerNumber, String shipType) {
+        placeShipRandomly(playerNumber, shipType, shipTypesPlacedByHand(playerNumber));
+    }
+
+    /** @param keptShipTypes navires que le solveur doit conserver en cas d'impasse */
+    private void placeShipRandomly(int playerNumber, String shipType, Set<String> keptShipTypes) {
         Player current = state.playerByNumber(playerNumber);
         int shipSize = state.fleetByType.get(shipType);
-        int boardSize = state.boardSize();
-        int tries = 0;
-        while (tries++ < MAX_AI_PLACEMENT_ITERATIONS) {
-            ShipOrientation orientation = randomOrientation();
-            int x = state.random.nextInt(boardSize);
-            int y = state.random.nextInt(boardSize);
-            try {
-                List<Coordinate> coordinates = current.getGrid()
-                    .generateShipCoordinates(new Coordinate(x, y), shipSize, orientation);
-                validatePlacementCoordinates(current, coordinates);
-                Ship ship = new Ship(Ship.generateId(), shipType, shipSize, coordinates, orientation);
-                current.getGrid().placeShip(ship);
-                current.getFleet().addShip(ship);
-                state.placedShipTypesByPlayer.get(playerNumber).add(shipType);
-                return;
-            } catch (IllegalArgumentException ignored) {
-                // retry
+        ShipPlacement placement = PlacementMasks.sampleFree(current.getGrid(), shipSize, state.random);
+        if (placement == null) {
+            placeMissingShipsWithSolver(playerNumber, shipType, keptShipTypes);
+            return;
+        }
+        addPlacedShip(playerNumber, shipType, placement);
+    }
+
+    /** Une IA n'a rien posé elle-même ; un humain garde ce qu'il a posé avant l'automatisme. */
+    private Set<String> shipTypesPlacedByHand(int playerNumber) {
+        return state.isHumanSlot(playerNumber) ? Set.copyOf(state.placedShipTypesByPlayer.get(playerNumber)) : Set.of();
+    }
+
+    /**
+     * Impasse du tirage : retire tous les navires hors {@code keptShipTypes} (tirages précédents
+     * compris) puis pose les manquants selon une disposition témoin autour des seuls navires gardés.
+     */
+    private void placeMissingShipsWithSolver(int playerNumber, String shipType, Set<String> keptShipTypes) {
+        Player current = state.playerByNumber(playerNumber);
+        for (Ship ship : List.copyOf(current.getFleet().getShips())) {
+            if (keptShipTypes.contains(ship.getName())) {
+                continue;
             }
+            for (Coordinate c : ship.getCoordinates()) {
+                current.getGrid().setCell(c, CellStatus.EMPTY);
+            }
+            current.getFleet().removeShip(ship);
+            state.placedShipTypesByPlayer.get(playerNumber).remove(ship.getName());
+        }
+        List<String> types = missingShipTypesLargestFirst(playerNumber);
+        List<Integer> sizes = new ArrayList<>(types.size());
+        for (String type : types) {
+            sizes.add(state.fleetByType.get(type));
         }
-        throw new IllegalStateException("Impossible de placer aléatoirement le navire " + shipType);
+        List<ShipPlacement> layout = FleetLayoutSolver.findLayout(current.getGrid(), sizes);
+        if (layout == null) {
+            throw new IllegalStateException("Impossible de placer aléatoirement le navire " + shipType);
+        }
+        for (int index = 0; index < types.size(); index++) {
+            addPlacedShip(playerNumber, types.get(index), layout.get(index));
+        }
+    }
+
+    private void addPlacedShip(int playerNumber, String shipType, ShipPlacement placement) {
+        Player current = state.playerByNumber(playerNumber);
+        int shipSize = state.fleetByType.get(shipType);
+        List<Coordinate> coordinates = current.getGrid()
+            .generateShipCoordinates(placement.start(), shipSize, placement.orientation());
+        Ship ship = new Ship(Ship.generateId(), shipType, shipSize, coordinates, placement.orientation());
+        current.getGrid().placeShip(ship);
+        current.getFleet().addShip(ship);
+        state.placedShipTypesByPlayer.get(playerNumber).add(shipType);
+    }
+
+    private List<String> missingShipTypesLargestFirst(int playerNumber) {
+        Set<String> placed = state.placedShipTypesByPlayer.get(playerNumber);
+        List<String> missing = new ArrayList<>();
+        for (String type : state.fleetByType.keySet()) {
+            if (!placed.contains(type)) {
+                missing.add(type);
+            }
+        }
+        missing.sort(Comparator.comparing(state.fleetByType::get, Comparator.reverseOrder()));
+        return missing;
     }
 
     String nextMissingShipType(int playerNumber) {
@@ -197,7 +258,7 @@ final class PlacementOrchestrator {
             throw new IllegalArgumentException("Pour retirer un navire, indiquez shipType ou bien x/y.");
         }
         validateCoordinateBounds(x, y);
-        Coordinate target = new Coordinate(x, y);
+        Coordinate target = Coordinate.of(x, y);
         for (Ship ship : state.playerByNumber(playerNumber).getFleet().getShips()) {
             if (ship.getCoordinates().contains(target)) {
                 return state.normalizeShipType(ship.getName());
@@ -257,9 +318,4 @@ final class PlacementOrchestrator {
             throw new IllegalArgumentException("Coordonnées hors grille");
         }
     }
-
-    private ShipOrientation randomOrientation() {
-        ShipOrientation[] values = ShipOrientation.values();
-        return values[state.random.nextInt(values.length)];
-    }
 }
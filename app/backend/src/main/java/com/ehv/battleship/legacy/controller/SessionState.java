@@ -6,10 +6,11 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 
+import com.ehv.battleship.model.AI;
 import com.ehv.battleship.model.Game;
+import com.ehv.battleship.model.GameRandom;
 import com.ehv.battleship.model.GameState;
 import com.ehv.battleship.model.Player;
 import com.ehv.battleship.model.Ship;
@@ -33,25 +34,42 @@ final class SessionState {
     final Map<Integer, Set<String>> placedShipTypesByPlayer = new LinkedHashMap<>();
     final Map<Integer, Integer> lockedTargetByPlayer = new LinkedHashMap<>();
     final List<Integer> placementCompletionOrder = new ArrayList<>();
-    final Random random = new Random();
+
+    /** Graine de la partie : même graine et mêmes actions humaines, même partie. */
+    long seed;
+    /** Aléa de session (placement automatique, cible tirée au sort) ; chaque IA a son propre flux. */
+    GameRandom random;
 
     SessionState(Game game, List<Integer> fleetSizes) {
         this.game = game;
         this.fleetSizes = new ArrayList<>(fleetSizes);
         this.fleetByType = buildFleetMap(this.fleetSizes);
         this.humanSlots = countHumanSlots(game);
+        reseed(GameRandom.freshSeed());
         bootstrapForCurrentGame();
     }
 
-    void replaceGame(Game replacement, List<Integer> newFleetSizes, int newHumanSlots) {
+    void replaceGame(Game replacement, List<Integer> newFleetSizes, int newHumanSlots, long newSeed) {
         this.game = replacement;
         this.fleetSizes = new ArrayList<>(newFleetSizes);
         this.fleetByType = buildFleetMap(this.fleetSizes);
         this.humanSlots = newHumanSlots;
         this.cachedWinner = null;
+        reseed(newSeed);
         bootstrapForCurrentGame();
     }
 
+    /** Repart du début du flux de {@code newSeed} ; les IA sans flux propre en reçoivent un dérivé. */
+    private void reseed(long newSeed) {
+        this.seed = newSeed;
+        this.random = new GameRandom(newSeed);
+        for (Player player : game.getPlayers()) {
+            if (player instanceof AI ai) {
+                ai.ensureRandomFrom(random);
+            }
+        }
+    }
+
     void bootstrapForCurrentGame() {
         // Les parties fraîchement créées démarrent en SETUP : on bascule tout de suite en
         // PLACEMENT pour que les actions web (place/confirm) et le presenter API soient alignés.
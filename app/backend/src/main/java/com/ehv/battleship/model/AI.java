@@ -9,30 +9,56 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
-import java.util.Random;
 import java.util.Set;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 /**
  * Joueur IA : placement aléatoire sur sa grille (sans dépendance contrôleur) et tir avec mémoire
  * séparée par adversaire pour le multi-joueurs (étoile / plusieurs grilles).
+ *
+ * <p>Le moteur de ciblage est choisi via {@link TargetingMode} : carte de densité par défaut,
+ * heuristique historique « chasse puis cible » toujours disponible (et conservée pour les IA
+ * rechargées depuis une sauvegarde antérieure).
  */
 public class AI extends Player {
 
     private static final long serialVersionUID = 2L;
 
-    /** Gson ne persiste pas ce champ ; reçu après désérialisation si besoin. */
-    private transient Random random;
+    /**
+     * Flux d'aléa du placement et des tirs, sauvegardé avec l'IA : une partie rechargée rejoue les
+     * mêmes décisions. Absent des anciennes sauvegardes (graine imprévisible au premier tirage).
+     */
+    private GameRandom random;
 
-    private Random rnd() {
+    private RandomGenerator rnd() {
         if (random == null) {
-            random = new Random();
+            random = new GameRandom(GameRandom.freshSeed());
         }
         return random;
     }
+
+    /** Source d'aléa du placement et des tirs ; une source initialisée rend la partie reproductible. */
+    public void setRandom(GameRandom random) {
+        this.random = random;
+    }
+
+    /** Attribue à l'IA un flux dérivé de {@code parent}, sauf si elle en a déjà un (partie rechargée). */
+    public void ensureRandomFrom(GameRandom parent) {
+        if (random == null) {
+            random = parent.split();
+        }
+    }
+
     /** Mémoire de tir par numéro de joueur adverse (1-based). */
     private final Map<Integer, OpponentState> opponentBrains = new HashMap<>();
 
+    /** Mémoire du moteur de densité, par numéro de joueur adverse (absente des anciennes sauvegardes). */
+    private Map<Integer, DensityTargeting> densityBrains = new HashMap<>();
+
+    /** {@code null} pour une IA rechargée d'une sauvegarde antérieure : heuristique historique. */
+    private TargetingMode targetingMode = TargetingMode.PROBABILITY_DENSITY;
+
     public AI(String name, int gridSize) {
         super(name, gridSize);
     }
@@ -41,20 +67,61 @@ public class AI extends Player {
         super(name, gridSize, shipSizes);
     }
 
+    public TargetingMode getTargetingMode() {
+        return targetingMode == null ? TargetingMode.HUNT_AND_TARGET : targetingMode;
+    }
+
+    /** Change de moteur ; chaque moteur garde sa propre mémoire des tirs déjà effectués. */
+    public void setTargetingMode(TargetingMode targetingMode) {
+        if (targetingMode == null) {
+            throw new IllegalArgumentException("Mode de ciblage requis");
+        }
+        this.targetingMode = targetingMode;
+    }
+
     @Override
     public boolean isAI() {
         return true;
     }
 
     /**
-     * Pose toute la flotte requise avec des types SHIP_0 … SHIP_n (cohérence API web).
+     * Pose toute la flotte requise avec des types SHIP_0 … SHIP_n (cohérence API web),
+     * les plus grands navires d'abord pour limiter les impasses sur les flottes denses.
+     * Si le tirage aléatoire se bloque malgré tout, la flotte est reposée selon une disposition
+     * calculée par {@link FleetLayoutSolver}.
      */
     public void placeFleetStandardTypes() {
         List<Integer> requiredSizes = getFleet().getRequiredSizes();
-        int gridSize = getGrid().getSize();
+        List<Integer> order = new ArrayList<>();
+        for (int index = 0; index < requiredSizes.size(); index++) {
+            order.add(index);
+        }
+        order.sort(Comparator.comparing(requiredSizes::get, Comparator.reverseOrder()));
+        List<Ship> placed = new ArrayList<>();
+        for (int index : order) {
+            ShipPlacement placement = PlacementMasks.sampleFree(getGrid(), requiredSizes.get(index), rnd());
+            if (placement == null) {
+                placeFleetWithSolver(requiredSizes, placed);
+                return;
+            }
+            placed.add(placeStandardShip(index, requiredSizes.get(index), placement));
+        }
+    }
+
+    private void placeFleetWithSolver(List<Integer> requiredSizes, List<Ship> randomlyPlaced) {
+        for (Ship ship : randomlyPlaced) {
+            for (Coordinate coordinate : ship.getCoordinates()) {
+                getGrid().setCell(coordinate, CellStatus.EMPTY);
+            }
+            getFleet().removeShip(ship);
+        }
+        List<ShipPlacement> layout = FleetLayoutSolver.findLayout(getGrid(), requiredSizes);
+        if (layout == null) {
+            throw new IllegalStateException(
+                "Impossible de placer la flotte " + requiredSizes + " : aucune disposition possible");
+        }
         for (int index = 0; index < requiredSizes.size(); index++) {
-            String shipType = "SHIP_" + index;
-            placeOneShipRandomly(shipType, requiredSizes.get(index), gridSize);
+            placeStandardShip(index, requiredSizes.get(index), layout.get(index));
         }
     }
 
@@ -63,8 +130,7 @@ public class AI extends Player {
      */
     public Coordinate chooseTargetForDefender(int defenderNumber) {
         int gridSize = getGrid().getSize();
-        OpponentState memory = opponentState(defenderNumber);
-        return memory.nextCoordinate(gridSize, rnd());
+        return strategyFor(defenderNumber).nextCoordinate(gridSize, rnd());
     }
 
     /**
@@ -81,24 +147,42 @@ public class AI extends Player {
         }
 
         List<Integer> withHunt = aliveOpponents.stream()
-            .filter((d) -> opponentState(d).hasActiveHunt())
+            .filter((d) -> strategyFor(d).hasActiveHunt())
             .collect(Collectors.toList());
 
         List<Integer> pool = withHunt.isEmpty() ? aliveOpponents : withHunt;
         int defenderNumber = pool.get(rnd().nextInt(pool.size()));
 
         int gridSize = getGrid().getSize();
-        OpponentState memory = opponentState(defenderNumber);
-        Coordinate coordinate = memory.nextCoordinate(gridSize, rnd());
+        Coordinate coordinate = strategyFor(defenderNumber).nextCoordinate(gridSize, rnd());
         return new ShootDecision(defenderNumber, coordinate);
     }
 
     public void handleShotResult(int defenderNumber, Coordinate shot, ShotResult result) {
-        opponentState(defenderNumber).onShotResult(shot, result, getGrid().getSize());
+        handleShotResult(defenderNumber, shot, result, null);
     }
 
-    private OpponentState opponentState(int defenderNumber) {
-        return opponentBrains.computeIfAbsent(defenderNumber, (key) -> new OpponentState());
+    /**
+     * @param sunkShip cases du navire coulé quand {@code result == SUNK} (voir
+     *                 {@link Player#getSunkShipCoordinatesAt}) ; {@code null} si inconnues
+     */
+    public void handleShotResult(int defenderNumber, Coordinate shot, ShotResult result, List<Coordinate> sunkShip) {
+        strategyFor(defenderNumber).onShotResult(shot, result, sunkShip, getGrid().getSize());
+    }
+
+    private TargetingStrategy strategyFor(int defenderNumber) {
+        return switch (getTargetingMode()) {
+            case HUNT_AND_TARGET -> opponentBrains.computeIfAbsent(defenderNumber, (key) -> new OpponentState());
+            case PROBABILITY_DENSITY -> densityBrains().computeIfAbsent(defenderNumber,
+                (key) -> new DensityTargeting(getGrid().getSize(), getFleet().getRequiredSizes()));
+        };
+    }
+
+    private Map<Integer, DensityTargeting> densityBrains() {
+        if (densityBrains == null) {
+            densityBrains = new HashMap<>();
+        }
+        return densityBrains;
     }
 
     private List<Integer> aliveOpponentNumbers(Game game, int selfNumber) {
@@ -116,39 +200,16 @@ public class AI extends Player {
         return opponents;
     }
 
-    private void placeOneShipRandomly(String shipType, int shipSize, int gridSize) {
-        for (int attempt = 0; attempt < 10000; attempt++) {
-            ShipOrientation orientation =
-                ShipOrientation.values()[rnd().nextInt(ShipOrientation.values().length)];
-            int x = rnd().nextInt(gridSize);
-            int y = rnd().nextInt(gridSize);
-            try {
-                List<Coordinate> coordinates = getGrid().generateShipCoordinates(new Coordinate(x, y), shipSize, orientation);
-                validateShipCellsEmpty(gridSize, coordinates);
-                Ship ship = new Ship(Ship.generateId(), shipType, shipSize, coordinates, orientation);
-                getGrid().placeShip(ship);
-                getFleet().addShip(ship);
-                return;
-            } catch (IllegalArgumentException ignored) {
-                // nouvel essai
-            }
-        }
-        throw new IllegalStateException(
-            "Impossible de placer le navire " + shipType + " apres plusieurs tentatives");
-    }
-
-    private void validateShipCellsEmpty(int gridSize, List<Coordinate> coordinates) {
-        for (Coordinate coordinate : coordinates) {
-            if (!coordinate.isValid(gridSize)) {
-                throw new IllegalArgumentException("hors grille");
-            }
-            if (getGrid().getCell(coordinate) == CellStatus.SHIP) {
-                throw new IllegalArgumentException("chevauchement");
-            }
-        }
+    private Ship placeStandardShip(int index, int shipSize, ShipPlacement placement) {
+        List<Coordinate> coordinates =
+            getGrid().generateShipCoordinates(placement.start(), shipSize, placement.orientation());
+        Ship ship = new Ship(Ship.generateId(), "SHIP_" + index, shipSize, coordinates, placement.orientation());
+        getGrid().placeShip(ship);
+        getFleet().addShip(ship);
+        return ship;
     }
 
-    private static final class OpponentState implements Serializable {
+    private static final class OpponentState implements TargetingStrategy, Serializable {
 
         private static final long serialVersionUID = 1L;
 
@@ -156,11 +217,13 @@ public class AI extends Player {
         private final Queue<Coordinate> targetQueue = new LinkedList<>();
         private final List<Coordinate> hitPositions = new ArrayList<>();
 
-        boolean hasActiveHunt() {
+        @Override
+        public boolean hasActiveHunt() {
             return !hitPositions.isEmpty();
         }
 
-        Coordinate nextCoordinate(int gridSize, Random randomSource) {
+        @Override
+        public Coordinate nextCoordinate(int gridSize, RandomGenerator randomSource) {
             if (shotsFired.size() >= gridSize * gridSize) {
                 throw new IllegalStateException("Aucune case libre pour ce plateau adverse.");
             }
@@ -177,14 +240,15 @@ public class AI extends Player {
             do {
                 int x = randomSource.nextInt(gridSize);
                 int y = randomSource.nextInt(gridSize);
-                target = new Coordinate(x, y);
+                target = Coordinate.of(x, y);
             } while (shotsFired.contains(target));
 
             shotsFired.add(target);
             return target;
         }
 
-        void onShotResult(Coordinate shot, ShotResult result, int gridSize) {
+        @Override
+        public void onShotResult(Coordinate shot, ShotResult result, List<Coordinate> sunkShip, int gridSize) {
             if (result == ShotResult.HIT) {
                 hitPositions.add(shot);
                 clearInvalidQueuedTargets(gridSize);
@@ -201,22 +265,22 @@ public class AI extends Player {
         }
 
         private void addAdjacentTargets(Coordinate c, int gridSize) {
-            addTarget(new Coordinate(c.getX() + 1, c.getY()), gridSize);
-            addTarget(new Coordinate(c.getX() - 1, c.getY()), gridSize);
-            addTarget(new Coordinate(c.getX(), c.getY() + 1), gridSize);
-            addTarget(new Coordinate(c.getX(), c.getY() - 1), gridSize);
+            addTarget(Coordinate.of(c.getX() + 1, c.getY()), gridSize);
+            addTarget(Coordinate.of(c.getX() - 1, c.getY()), gridSize);
+            addTarget(Coordinate.of(c.getX(), c.getY() + 1), gridSize);
+            addTarget(Coordinate.of(c.getX(), c.getY() - 1), gridSize);
         }
 
         private void addTargetsInDirection(int gridSize) {
             if (isHorizontal()) {
                 hitPositions.sort(Comparator.comparingInt(Coordinate::getX));
 
-                Coordinate left = new Coordinate(
+                Coordinate left = Coordinate.of(
                     hitPositions.get(0).getX() - 1,
                     hitPositions.get(0).getY()
                 );
 
-                Coordinate right = new Coordinate(
+                Coordinate right = Coordinate.of(
                     hitPositions.get(hitPositions.size() - 1).getX() + 1,
                     hitPositions.get(0).getY()
                 );
@@ -227,12 +291,12 @@ public class AI extends Player {
             } else if (isVertical()) {
                 hitPositions.sort(Comparator.comparingInt(Coordinate::getY));
 
-                Coordinate up = new Coordinate(
+                Coordinate up = Coordinate.of(
                     hitPositions.get(0).getX(),
                     hitPositions.get(0).getY() - 1
                 );
 
-                Coordinate down = new Coordinate(
+                Coordinate down = Coordinate.of(
                     hitPositions.get(0).getX(),
                     hitPositions.get(hitPositions.size() - 1).getY() + 1
                 );
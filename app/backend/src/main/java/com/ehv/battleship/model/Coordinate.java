@@ -1,12 +1,23 @@
 package com.ehv.battleship.model;
 
 import java.io.Serializable;
-import java.util.Objects;
 
+/**
+ * Coordonnée immuable sur une grille.
+ *
+ * <p>Préférer {@link #of(int, int)} au constructeur : les coordonnées des plateaux usuels
+ * (jusqu'à {@value #CACHED_BOARD_SIZE} cases de côté) sont pré-construites une seule fois et
+ * partagées, ce qui supprime l'essentiel des allocations des tirs, sondes IA et projections.
+ */
 public class Coordinate implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /** Côté du plus grand plateau couvert par la table partagée (les plus petits en sont des sous-carrés). */
+    static final int CACHED_BOARD_SIZE = 32;
+
+    private static final Coordinate[] CACHE = buildCache();
+
     private final int x;
     private final int y;
 
@@ -15,6 +26,27 @@ public class Coordinate implements Serializable {
         this.y = y;
     }
 
+    /**
+     * Coordonnée partagée pour {@code (x, y)} ; une nouvelle instance n'est créée qu'en dehors de
+     * la table (plateau géant ou coordonnée hors grille, ex. voisin d'un bord).
+     */
+    public static Coordinate of(int x, int y) {
+        if (x >= 0 && x < CACHED_BOARD_SIZE && y >= 0 && y < CACHED_BOARD_SIZE) {
+            return CACHE[y * CACHED_BOARD_SIZE + x];
+        }
+        return new Coordinate(x, y);
+    }
+
+    private static Coordinate[] buildCache() {
+        Coordinate[] cache = new Coordinate[CACHED_BOARD_SIZE * CACHED_BOARD_SIZE];
+        for (int y = 0; y < CACHED_BOARD_SIZE; y++) {
+            for (int x = 0; x < CACHED_BOARD_SIZE; x++) {
+                cache[y * CACHED_BOARD_SIZE + x] = new Coordinate(x, y);
+            }
+        }
+        return cache;
+    }
+
     public int getX() {
         return x;
     }
@@ -28,7 +60,7 @@ public class Coordinate implements Serializable {
     }
 
     public Coordinate add(int dx, int dy) {
-        return new Coordinate(x + dx, y + dy);
+        return of(x + dx, y + dy);
     }
 
     @Override
@@ -41,11 +73,15 @@ public class Coordinate implements Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return (x << 16) ^ (y & 0xFFFF);
     }
 
     @Override
     public String toString() {
         return "(" + x + ", " + y + ")";
     }
+
+    private Object readResolve() {
+        return of(x, y);
+    }
 }
@@ -12,6 +12,8 @@ public class Fleet implements Serializable {
 
     private final List<Ship> ships = new ArrayList<>();
     private final List<Integer> requiredSizes;
+    /** Incrémenté à chaque ajout/retrait : invalide l'index dérivé du joueur ({@link ShipIndex}). */
+    private transient int modificationCount;
 
     public Fleet() {
         this(Arrays.asList(5, 4, 3, 3, 2));
@@ -37,10 +39,19 @@ public class Fleet implements Serializable {
 
     public void addShip(Ship ship) {
         ships.add(ship);
+        modificationCount++;
     }
 
     public boolean removeShip(Ship ship) {
-        return ships.remove(ship);
+        boolean removed = ships.remove(ship);
+        if (removed) {
+            modificationCount++;
+        }
+        return removed;
+    }
+
+    int getModificationCount() {
+        return modificationCount;
     }
 
     public List<Integer> getRequiredSizes() {
@@ -0,0 +1,219 @@
+package com.ehv.battleship.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Décide si une flotte tient sur un plateau et fournit une disposition témoin.
+ *
+ * <p>Recherche en profondeur sur masques de bits ({@link PlacementMasks}) : navires du plus grand
+ * au plus petit, navires de même longueur posés dans l'ordre croissant des départs (pas de
+ * permutations équivalentes), abandon dès que les cases restantes dépassent les cases libres.
+ * La recherche est bornée à {@value #NODE_BUDGET} nœuds ; au-delà, le verdict est « inconnu » et
+ * la configuration n'est pas refusée (le placement aléatoire peut encore réussir).
+ *
+ * <p>Les résultats sur plateau vide sont mémorisés par (taille, longueurs triées) : revalider
+ * la même configuration de lobby ne coûte qu'une recherche dans une table.
+ */
+public final class FleetLayoutSolver {
+
+    private static final int NODE_BUDGET = 100_000;
+    private static final int CACHE_LIMIT = 1024;
+    private static final Map<String, Solution> EMPTY_BOARD_CACHE = new ConcurrentHashMap<>();
+
+    private final int boardSize;
+    private final int[] lengths;
+    private final int[] remainingCells;
+    private final long[] occupied;
+    private final int[] chosen;
+    private int freeCells;
+    private int nodes;
+    private boolean budgetExceeded;
+
+    private FleetLayoutSolver(int boardSize, int[] lengths, long[] occupied, int freeCells) {
+        this.boardSize = boardSize;
+        this.lengths = lengths;
+        this.occupied = occupied;
+        this.freeCells = freeCells;
+        this.chosen = new int[lengths.length];
+        this.remainingCells = new int[lengths.length + 1];
+        for (int index = lengths.length - 1; index >= 0; index--) {
+            remainingCells[index] = remainingCells[index + 1] + lengths[index];
+        }
+    }
+
+    /**
+     * {@code false} seulement si la flotte ne peut <b>certainement</b> pas être posée sur un
+     * plateau vide (trop de cases, navire trop long, ou recherche exhaustive sans solution).
+     */
+    public static boolean isFeasible(int boardSize, List<Integer> shipSizes) {
+        Solution solution = solveEmptyBoard(boardSize, shipSizes);
+        return solution.layout() != null || !solution.complete();
+    }
+
+    /**
+     * Disposition témoin sur plateau vide, alignée sur l'ordre de {@code shipSizes} ;
+     * {@code null} si aucune n'a été trouvée.
+     */
+    public static List<ShipPlacement> findLayout(int boardSize, List<Integer> shipSizes) {
+        Solution solution = solveEmptyBoard(boardSize, shipSizes);
+        return solution.layout() == null ? null : alignToRequest(solution, shipSizes);
+    }
+
+    /**
+     * Disposition des navires demandés autour des cases {@code SHIP} déjà présentes sur la grille
+     * (non mémorisée : dépend de l'occupation) ; {@code null} si aucune n'a été trouvée.
+     */
+    public static List<ShipPlacement> findLayout(Grid grid, List<Integer> shipSizes) {
+        int[] lengths = sortedLengths(shipSizes);
+        if (lengths == null) {
+            return null;
+        }
+        long[] occupied = PlacementMasks.occupiedMask(grid);
+        int free = grid.getSize() * grid.getSize();
+        for (long word : occupied) {
+            free -= Long.bitCount(word);
+        }
+        Solution solution = new FleetLayoutSolver(grid.getSize(), lengths, occupied, free).solve();
+        return solution.layout() == null ? null : alignToRequest(solution, shipSizes);
+    }
+
+    private static Solution solveEmptyBoard(int boardSize, List<Integer> shipSizes) {
+        int[] lengths = sortedLengths(shipSizes);
+        if (lengths == null || boardSize < 1) {
+            return Solution.IMPOSSIBLE;
+        }
+        String key = boardSize + ":" + Arrays.toString(lengths);
+        Solution cached = EMPTY_BOARD_CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long[] occupied = new long[PlacementMasks.wordCount(boardSize)];
+        Solution solution = new FleetLayoutSolver(boardSize, lengths, occupied, boardSize * boardSize).solve();
+        if (EMPTY_BOARD_CACHE.size() >= CACHE_LIMIT) {
+            EMPTY_BOARD_CACHE.clear();
+        }
+        EMPTY_BOARD_CACHE.put(key, solution);
+        return solution;
+    }
+
+    /** Longueurs triées par ordre décroissant ; {@code null} si une longueur est absente ou nulle. */
+    private static int[] sortedLengths(List<Integer> shipSizes) {
+        if (shipSizes == null) {
+            return null;
+        }
+        int[] lengths = new int[shipSizes.size()];
+        for (int index = 0; index < lengths.length; index++) {
+            Integer size = shipSizes.get(index);
+            if (size == null || size < 1) {
+                return null;
+            }
+            lengths[index] = -size;
+        }
+        Arrays.sort(lengths);
+        for (int index = 0; index < lengths.length; index++) {
+            lengths[index] = -lengths[index];
+        }
+        return lengths;
+    }
+
+    private Solution solve() {
+        if (lengths.length > 0 && lengths[0] > boardSize) {
+            return Solution.IMPOSSIBLE;
+        }
+        if (!place(0)) {
+            return budgetExceeded ? Solution.UNKNOWN : Solution.IMPOSSIBLE;
+        }
+        List<ShipPlacement> layout = new ArrayList<>(lengths.length);
+        int cells = boardSize * boardSize;
+        for (int code : chosen) {
+            int cell = code % cells;
+            ShipOrientation orientation = code < cells ? ShipOrientation.HORIZONTAL : ShipOrientation.VERTICAL;
+            layout.add(new ShipPlacement(Coordinate.of(cell % boardSize, cell / boardSize), orientation));
+        }
+        return new Solution(lengths, Collections.unmodifiableList(layout), true);
+    }
+
+    /**
+     * Pose le navire {@code shipIndex} puis les suivants. Un placement est codé
+     * {@code orientation * cases + case} ; deux navires de même longueur consécutifs ont des
+     * codes strictement croissants.
+     */
+    private boolean place(int shipIndex) {
+        if (shipIndex == lengths.length) {
+            return true;
+        }
+        if (++nodes > NODE_BUDGET) {
+            budgetExceeded = true;
+            return false;
+        }
+        if (remainingCells[shipIndex] > freeCells) {
+            return false;
+        }
+        int length = lengths[shipIndex];
+        int cells = boardSize * boardSize;
+        int minCode = shipIndex > 0 && lengths[shipIndex - 1] == length ? chosen[shipIndex - 1] + 1 : 0;
+        for (int orientation = 0; orientation < (length == 1 ? 1 : 2); orientation++) {
+            long[] free = PlacementMasks.freeStarts(occupied, boardSize, length, orientation == 1);
+            for (int word = 0; word < free.length; word++) {
+                for (long bits = free[word]; bits != 0; bits &= bits - 1) {
+                    int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    int code = orientation * cells + cell;
+                    if (code < minCode) {
+                        continue;
+                    }
+                    toggle(cell, length, orientation == 1);
+                    chosen[shipIndex] = code;
+                    boolean placed = place(shipIndex + 1);
+                    if (placed) {
+                        return true;
+                    }
+                    toggle(cell, length, orientation == 1);
+                    if (budgetExceeded) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Occupe ou libère les cases du navire (XOR : les cases sont libres avant la pose). */
+    private void toggle(int start, int length, boolean vertical) {
+        int step = vertical ? boardSize : 1;
+        boolean occupying = (occupied[start >>> 6] & (1L << start)) == 0;
+        for (int offset = 0, cell = start; offset < length; offset++, cell += step) {
+            occupied[cell >>> 6] ^= 1L << cell;
+        }
+        freeCells += occupying ? -length : length;
+    }
+
+    /** Associe à chaque longueur demandée (dans l'ordre de la requête) un placement de même longueur. */
+    private static List<ShipPlacement> alignToRequest(Solution solution, List<Integer> shipSizes) {
+        int[] lengths = solution.lengths();
+        boolean[] used = new boolean[lengths.length];
+        List<ShipPlacement> aligned = new ArrayList<>(shipSizes.size());
+        for (Integer size : shipSizes) {
+            int match = 0;
+            while (used[match] || lengths[match] != size) {
+                match++;
+            }
+            used[match] = true;
+            aligned.add(solution.layout().get(match));
+        }
+        return aligned;
+    }
+
+    /**
+     * @param layout   disposition par longueur décroissante, ou {@code null}
+     * @param complete {@code false} si la recherche a été interrompue par le budget
+     */
+    private record Solution(int[] lengths, List<ShipPlacement> layout, boolean complete) {
+        static final Solution IMPOSSIBLE = new Solution(new int[0], null, true);
+        static final Solution UNKNOWN = new Solution(new int[0], null, false);
+    }
+}
@@ -4,12 +4,14 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Game implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
-    private static int nextId = 1;
+    /** Atomique (comme ceux de Player et Ship) : des parties peuvent être créées en parallèle. */
+    private static final AtomicInteger NEXT_ID = new AtomicInteger(1);
     private final int id;
     private final int gridSize;
     private GameState state;
@@ -17,11 +19,18 @@ public class Game implements Serializable {
     private final List<Player> players;
     private int currentPlayerIndex;
 
+    /**
+     * Joueurs encore en lice, tenu à jour sur coulé / forfait. Dérivé (non persisté) : recalculé
+     * une fois après rechargement ou changement de phase, la flotte pouvant changer en placement.
+     */
+    private transient int alivePlayers;
+    private transient boolean alivePlayersKnown;
+
     public Game(int gridSize, List<Player> players) {
         if (players == null || players.size() < 2) {
             throw new IllegalArgumentException("Il faut au moins 2 joueurs");
         }
-        this.id = nextId++;
+        this.id = NEXT_ID.getAndIncrement();
         this.gridSize = gridSize;
         this.state = GameState.SETUP;
         this.players = new ArrayList<>(players);
@@ -33,9 +42,7 @@ public class Game implements Serializable {
     }
 
     public static void ensureNextIdAtLeast(int minimumNextId) {
-        if (minimumNextId > nextId) {
-            nextId = minimumNextId;
-        }
+        NEXT_ID.accumulateAndGet(minimumNextId, Math::max);
     }
 
     public int getGridSize() {
@@ -48,6 +55,7 @@ public class Game implements Serializable {
 
     public void setState(GameState state) {
         this.state = state;
+        this.alivePlayersKnown = false;
     }
 
     public List<Player> getPlayers() {
@@ -96,6 +104,7 @@ public class Game implements Serializable {
             }
         }
         this.state = GameState.PLAYING;
+        this.alivePlayersKnown = false;
         this.currentPlayerIndex = 0;
     }
 
@@ -123,10 +132,22 @@ public class Game implements Serializable {
             return state == GameState.FINISHED;
         }
         // Le jeu est fini si un seul joueur ou moins reste actif
-        long activePlayers = players.stream()
-            .filter(p -> !p.hasLost())
-            .count();
-        return activePlayers <= 1;
+        return getAlivePlayerCount() <= 1;
+    }
+
+    /** Nombre de joueurs n'ayant pas perdu (O(1) hors premier appel après changement de phase). */
+    public int getAlivePlayerCount() {
+        if (!alivePlayersKnown) {
+            int alive = 0;
+            for (Player player : players) {
+                if (!player.hasLost()) {
+                    alive++;
+                }
+            }
+            alivePlayers = alive;
+            alivePlayersKnown = true;
+        }
+        return alivePlayers;
     }
 
     public Player getWinner() {
@@ -134,10 +155,18 @@ public class Game implements Serializable {
             return null;
         }
         // Retourner le premier joueur qui n'a pas perdu
-        return players.stream()
-            .filter(p -> !p.hasLost())
-            .findFirst()
-            .orElse(null);
+        for (Player player : players) {
+            if (!player.hasLost()) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    private void onPlayerEliminated() {
+        if (alivePlayersKnown) {
+            alivePlayers--;
+        }
     }
 
     public ShotResult shoot(Player attacker, Player defender, Coordinate coordinate) {
@@ -164,21 +193,24 @@ public class Game implements Serializable {
         }
 
         if (currentStatus == CellStatus.SHIP) {
+            // L'index est obtenu avant d'écrire HIT : une reconstruction à ce moment compterait
+            // déjà la touche et la décompterait deux fois.
+            ShipIndex index = defender.shipIndex();
             defender.getGrid().setCell(coordinate, CellStatus.HIT);
 
-            Ship touchedShip = findShipAtCoordinate(defender, coordinate);
-            boolean sunkNow = false;
-            if (touchedShip != null && isShipCompletelyHit(defender, touchedShip)) {
-                touchedShip.setSunk(true);
-                for (Coordinate shipCoordinate : touchedShip.getCoordinates()) {
+            Ship sunkShip = index.registerHit(coordinate);
+            if (sunkShip != null) {
+                for (Coordinate shipCoordinate : sunkShip.getCoordinates()) {
                     defender.getGrid().setCell(shipCoordinate, CellStatus.SUNK);
                 }
-                sunkNow = true;
+                if (index.allShipsSunk()) {
+                    onPlayerEliminated();
+                }
             }
 
             updateFinishedState();
 
-            return sunkNow ? ShotResult.SUNK : ShotResult.HIT;
+            return sunkShip != null ? ShotResult.SUNK : ShotResult.HIT;
         }
 
         defender.getGrid().setCell(coordinate, CellStatus.MISS);
@@ -186,23 +218,25 @@ public class Game implements Serializable {
         return ShotResult.MISS;
     }
 
-    private Ship findShipAtCoordinate(Player player, Coordinate coordinate) {
-        for (Ship ship : player.getFleet().getShips()) {
-            if (ship.getCoordinates().contains(coordinate)) {
-                return ship;
-            }
+    /**
+     * Abandon d'un joueur : toute sa flotte est coulée (cases comprises). La fin de partie
+     * éventuelle reste décidée par l'appelant.
+     */
+    public void forfeit(Player player) {
+        if (player == null || !players.contains(player)) {
+            throw new IllegalArgumentException("Le joueur n'appartient pas à ce jeu");
         }
-        return null;
-    }
-
-    private boolean isShipCompletelyHit(Player player, Ship ship) {
-        for (Coordinate shipCoordinate : ship.getCoordinates()) {
-            CellStatus status = player.getGrid().getCell(shipCoordinate);
-            if (status != CellStatus.HIT && status != CellStatus.SUNK) {
-                return false;
+        ShipIndex index = player.shipIndex();
+        boolean wasAlive = !index.allShipsSunk();
+        index.sinkAll();
+        if (wasAlive && index.allShipsSunk()) {
+            onPlayerEliminated();
+        }
+        for (Ship ship : player.getFleet().getShips()) {
+            for (Coordinate coordinate : ship.getCoordinates()) {
+                player.getGrid().setCell(coordinate, CellStatus.SUNK);
             }
         }
-        return true;
     }
 
     // Place un navire pour un joueur avec validation complète
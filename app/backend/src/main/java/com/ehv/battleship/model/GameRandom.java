@@ -0,0 +1,52 @@
+package com.ehv.battleship.model;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Générateur pseudo-aléatoire d'une partie : SplitMix64, l'algorithme de
+ * {@link java.util.SplittableRandom}, mais avec un état réduit à un seul {@code long} visible par
+ * Gson. Une sauvegarde reprend donc le flux exactement là où il s'était arrêté.
+ *
+ * <p>{@link #split()} dérive un flux indépendant (un par IA, un pour la session) : les tirages de
+ * l'un ne décalent pas ceux des autres. Non synchronisé : un générateur par partie, protégé par
+ * le verrou du contrôleur.
+ */
+public final class GameRandom implements RandomGenerator, Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    /** Graine imprévisible pour une partie qui n'en impose pas. */
+    public static long freshSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(state += GOLDEN_GAMMA);
+    }
+
+    /** Flux enfant décorrélé ; avance ce générateur d'un tirage. */
+    public GameRandom split() {
+        return new GameRandom(nextLong());
+    }
+
+    /** Copie indépendante au même point du flux. */
+    public GameRandom copy() {
+        return new GameRandom(state);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
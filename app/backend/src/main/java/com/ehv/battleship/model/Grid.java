@@ -4,26 +4,25 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Grille carrée d'un joueur.
+ *
+ * <p>Les statuts sont stockés à plat dans un {@code byte[]} indexé par {@code y * size + x}
+ * (ordinal de {@link CellStatus}) : aucune cellule ni coordonnée n'est allouée par case, ce qui
+ * réduit fortement l'empreinte mémoire d'un salon et évite une double indirection à chaque lecture.
+ */
 public class Grid implements Serializable {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
+
+    private static final CellStatus[] STATUSES = CellStatus.values();
 
     private final int size;
-    private final Cell[][] cells;
+    private final byte[] cells;
 
     public Grid(int size) {
         this.size = size;
-        this.cells = new Cell[size][size];
-        initializeEmpty();
-    }
-
-    private void initializeEmpty() {
-        for (int y = 0; y < size; y++) {
-            for (int x = 0; x < size; x++) {
-                Coordinate coordinate = new Coordinate(x, y);
-                cells[y][x] = new Cell(coordinate, CellStatus.EMPTY);
-            }
-        }
+        this.cells = new byte[size * size];
     }
 
     public int getSize() {
@@ -34,14 +33,32 @@ public class Grid implements Serializable {
         if (!coordinate.isValid(size)) {
             throw new IllegalArgumentException("Coordonnée invalide : " + coordinate);
         }
-        return cells[coordinate.getY()][coordinate.getX()].getStatus();
+        return STATUSES[cells[coordinate.getY() * size + coordinate.getX()]];
+    }
+
+    /**
+     * Lecture directe par coordonnées entières (projection API, rendu console) sans allouer de
+     * {@link Coordinate}.
+     */
+    public CellStatus getCell(int x, int y) {
+        if (!isInBounds(x, y)) {
+            throw new IllegalArgumentException("Coordonnée invalide : (" + x + ", " + y + ")");
+        }
+        return STATUSES[cells[y * size + x]];
     }
 
     public void setCell(Coordinate coordinate, CellStatus status) {
         if (!coordinate.isValid(size)) {
             throw new IllegalArgumentException("Coordonnée invalide : " + coordinate);
         }
-        cells[coordinate.getY()][coordinate.getX()].setStatus(status);
+        cells[coordinate.getY() * size + coordinate.getX()] = (byte) status.ordinal();
+    }
+
+    public void setCell(int x, int y, CellStatus status) {
+        if (!isInBounds(x, y)) {
+            throw new IllegalArgumentException("Coordonnée invalide : (" + x + ", " + y + ")");
+        }
+        cells[y * size + x] = (byte) status.ordinal();
     }
 
     public boolean isValidCoordinate(Coordinate coordinate) {
@@ -56,41 +73,24 @@ public class Grid implements Serializable {
      * @return true si le placement est valide, false sinon
      */
     public boolean canPlaceShip(Coordinate startCoordinate, int size, ShipOrientation orientation) {
-        if (!isValidCoordinate(startCoordinate)) {
+        if (!isValidCoordinate(startCoordinate) || orientation == null) {
             return false;
         }
-
-        // Calculer toutes les coordonnées que le navire occuperait
-        for (int i = 0; i < size; i++) {
-            Coordinate coord;
-            switch (orientation) {
-                case HORIZONTAL:
-                    coord = startCoordinate.add(i, 0);
-                    break;
-                case HORIZONTAL_LEFT:
-                    coord = startCoordinate.add(-i, 0);
-                    break;
-                case VERTICAL:
-                    coord = startCoordinate.add(0, i);
-                    break;
-                case VERTICAL_UP:
-                    coord = startCoordinate.add(0, -i);
-                    break;
-                default:
-                    return false;
-            }
-
-            // Vérifier que la coordonnée est valide
-            if (!isValidCoordinate(coord)) {
-                return false;
-            }
-
-            // Vérifier que la cellule n'est pas déjà occupée par un navire
-            if (getCell(coord) == CellStatus.SHIP) {
+        int dx = stepX(orientation);
+        int dy = stepY(orientation);
+        int x = startCoordinate.getX();
+        int y = startCoordinate.getY();
+        // Les deux extrémités dans la grille suffisent : le segment est rectiligne.
+        if (!isInBounds(x + dx * (size - 1), y + dy * (size - 1))) {
+            return false;
+        }
+        int index = y * this.size + x;
+        int step = dy * this.size + dx;
+        for (int i = 0; i < size; i++, index += step) {
+            if (cells[index] == CellStatus.SHIP.ordinal()) {
                 return false;
             }
         }
-
         return true;
     }
 
@@ -101,14 +101,18 @@ public class Grid implements Serializable {
      */
     public void placeShip(Ship ship) {
         List<Coordinate> coordinates = ship.getCoordinates();
+        // Valider avant d'écrire : un échec ne laisse pas de navire partiellement posé.
         for (Coordinate coord : coordinates) {
             if (!isValidCoordinate(coord)) {
                 throw new IllegalArgumentException("Coordonnée invalide pour le navire : " + coord);
             }
-            if (getCell(coord) == CellStatus.SHIP) {
+            if (cells[coord.getY() * size + coord.getX()] == CellStatus.SHIP.ordinal()) {
                 throw new IllegalArgumentException("Un navire occupe déjà cette position : " + coord);
             }
-            setCell(coord, CellStatus.SHIP);
+        }
+        byte shipStatus = (byte) CellStatus.SHIP.ordinal();
+        for (Coordinate coord : coordinates) {
+            cells[coord.getY() * size + coord.getX()] = shipStatus;
         }
     }
 
@@ -120,27 +124,35 @@ public class Grid implements Serializable {
      * @return Liste des coordonnées du navire
      */
     public List<Coordinate> generateShipCoordinates(Coordinate startCoordinate, int size, ShipOrientation orientation) {
-        List<Coordinate> coordinates = new ArrayList<>();
+        if (orientation == null) {
+            throw new IllegalArgumentException("Orientation non supportée : " + orientation);
+        }
+        int dx = stepX(orientation);
+        int dy = stepY(orientation);
+        List<Coordinate> coordinates = new ArrayList<>(size);
         for (int i = 0; i < size; i++) {
-            Coordinate coord;
-            switch (orientation) {
-                case HORIZONTAL:
-                    coord = startCoordinate.add(i, 0);
-                    break;
-                case HORIZONTAL_LEFT:
-                    coord = startCoordinate.add(-i, 0);
-                    break;
-                case VERTICAL:
-                    coord = startCoordinate.add(0, i);
-                    break;
-                case VERTICAL_UP:
-                    coord = startCoordinate.add(0, -i);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Orientation non supportée : " + orientation);
-            }
-            coordinates.add(coord);
+            coordinates.add(startCoordinate.add(dx * i, dy * i));
         }
         return coordinates;
     }
+
+    private boolean isInBounds(int x, int y) {
+        return x >= 0 && x < size && y >= 0 && y < size;
+    }
+
+    private static int stepX(ShipOrientation orientation) {
+        return switch (orientation) {
+            case HORIZONTAL -> 1;
+            case HORIZONTAL_LEFT -> -1;
+            case VERTICAL, VERTICAL_UP -> 0;
+        };
+    }
+
+    private static int stepY(ShipOrientation orientation) {
+        return switch (orientation) {
+            case VERTICAL -> 1;
+            case VERTICAL_UP -> -1;
+            case HORIZONTAL, HORIZONTAL_LEFT -> 0;
+        };
+    }
 }
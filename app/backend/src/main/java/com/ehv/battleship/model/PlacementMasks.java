@@ -0,0 +1,146 @@
+package com.ehv.battleship.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Tirage aléatoire de placements de navires par masques de bits, sans essais/rejets.
+ *
+ * <p>Pour chaque (taille de plateau, longueur, orientation), le masque des cases de départ
+ * légales (navire entièrement dans la grille) est calculé une fois puis partagé. Les départs
+ * encore libres s'obtiennent en retirant les cases occupées décalées de 0 à {@code longueur - 1}
+ * pas, puis on tire uniformément l'un des bits restants (comptage + sélection du k-ième bit).
+ * Coût constant par navire, et {@code null} uniquement s'il n'existe réellement aucune place.
+ */
+public final class PlacementMasks {
+
+    private static final Map<Long, long[]> LEGAL_STARTS = new ConcurrentHashMap<>();
+
+    private PlacementMasks() {
+    }
+
+    /**
+     * Placement tiré uniformément parmi tous ceux qui ne chevauchent aucune case {@code SHIP}.
+     * @return {@code null} si aucun placement de cette longueur ne tient sur la grille
+     */
+    public static ShipPlacement sampleFree(Grid grid, int length, RandomGenerator random) {
+        int size = grid.getSize();
+        if (length < 1 || length > size) {
+            return null;
+        }
+        long[] occupied = occupiedMask(grid);
+        long[] horizontal = freeStarts(occupied, size, length, false);
+        // Longueur 1 : les deux orientations couvrent la même case, on ne la compte qu'une fois.
+        long[] vertical = length == 1 ? new long[horizontal.length] : freeStarts(occupied, size, length, true);
+        int horizontalCount = bitCount(horizontal);
+        int total = horizontalCount + bitCount(vertical);
+        if (total == 0) {
+            return null;
+        }
+        int pick = random.nextInt(total);
+        boolean isVertical = pick >= horizontalCount;
+        int cell = selectBit(isVertical ? vertical : horizontal, isVertical ? pick - horizontalCount : pick);
+        return new ShipPlacement(Coordinate.of(cell % size, cell / size),
+            isVertical ? ShipOrientation.VERTICAL : ShipOrientation.HORIZONTAL);
+    }
+
+    /** Nombre de placements libres de cette longueur (orientations confondues pour la longueur 1). */
+    public static int countFree(Grid grid, int length) {
+        int size = grid.getSize();
+        if (length < 1 || length > size) {
+            return 0;
+        }
+        long[] occupied = occupiedMask(grid);
+        int horizontal = bitCount(freeStarts(occupied, size, length, false));
+        return length == 1 ? horizontal : horizontal + bitCount(freeStarts(occupied, size, length, true));
+    }
+
+    static long[] occupiedMask(Grid grid) {
+        int size = grid.getSize();
+        long[] occupied = new long[wordCount(size)];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (grid.getCell(x, y) == CellStatus.SHIP) {
+                    int cell = y * size + x;
+                    occupied[cell >>> 6] |= 1L << cell;
+                }
+            }
+        }
+        return occupied;
+    }
+
+    /** Départs libres (bit i = case i) ; tableau neuf, modifiable par l'appelant. */
+    static long[] freeStarts(long[] occupied, int size, int length, boolean vertical) {
+        long[] legal = legalStarts(size, length, vertical);
+        long[] blocked = new long[legal.length];
+        int step = vertical ? size : 1;
+        for (int offset = 0; offset < length; offset++) {
+            orShiftedRight(blocked, occupied, offset * step);
+        }
+        long[] free = new long[legal.length];
+        for (int word = 0; word < legal.length; word++) {
+            free[word] = legal[word] & ~blocked[word];
+        }
+        return free;
+    }
+
+    /** Masque partagé, à ne jamais modifier. */
+    private static long[] legalStarts(int size, int length, boolean vertical) {
+        long key = ((long) size << 32) | ((long) length << 1) | (vertical ? 1L : 0L);
+        return LEGAL_STARTS.computeIfAbsent(key, (ignored) -> buildLegalStarts(size, length, vertical));
+    }
+
+    private static long[] buildLegalStarts(int size, int length, boolean vertical) {
+        long[] mask = new long[wordCount(size)];
+        int maxX = vertical ? size - 1 : size - length;
+        int maxY = vertical ? size - length : size - 1;
+        for (int y = 0; y <= maxY; y++) {
+            for (int x = 0; x <= maxX; x++) {
+                int cell = y * size + x;
+                mask[cell >>> 6] |= 1L << cell;
+            }
+        }
+        return mask;
+    }
+
+    /** {@code target |= source >>> shift} sur un masque multi-mots (bit i = case i). */
+    private static void orShiftedRight(long[] target, long[] source, int shift) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int word = 0; word + wordShift < source.length; word++) {
+            long value = source[word + wordShift] >>> bitShift;
+            if (bitShift != 0 && word + wordShift + 1 < source.length) {
+                value |= source[word + wordShift + 1] << (64 - bitShift);
+            }
+            target[word] |= value;
+        }
+    }
+
+    private static int bitCount(long[] mask) {
+        int count = 0;
+        for (long word : mask) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static int selectBit(long[] mask, int rank) {
+        for (int word = 0; word < mask.length; word++) {
+            int count = Long.bitCount(mask[word]);
+            if (rank < count) {
+                long bits = mask[word];
+                for (int skipped = 0; skipped < rank; skipped++) {
+                    bits &= bits - 1;
+                }
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            rank -= count;
+        }
+        throw new IllegalStateException("Rang hors masque : " + rank);
+    }
+
+    static int wordCount(int size) {
+        return (size * size + 63) >>> 6;
+    }
+}
@@ -2,17 +2,20 @@ package com.ehv.battleship.model;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Player implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
-    private static int nextId = 1;
+    private static final AtomicInteger NEXT_ID = new AtomicInteger(1);
     private final int id;
     private final String name;
     private final Grid grid;
     private final Fleet fleet;
     private boolean ready;
+    /** Dérivé de la grille et de la flotte, reconstruit à la demande (jamais persisté). */
+    private transient ShipIndex shipIndex;
 
 
     // Constructeur pour joueur humain
@@ -23,7 +26,7 @@ public Player(String name, int gridSize) {
 
 // constructeur avec flotte personnalisée
 public Player(String name, int gridSize, List<Integer> fleetShipSizes) {
-    this.id = nextId++;
+    this.id = NEXT_ID.getAndIncrement();
     this.name = name;
     this.grid = new Grid(gridSize);
     this.fleet = (fleetShipSizes == null) ? new Fleet() : new Fleet(fleetShipSizes);
@@ -35,9 +38,7 @@ public Player(String name, int gridSize, List<Integer> fleetShipSizes) {
     }
 
     public static void ensureNextIdAtLeast(int minimumNextId) {
-        if (minimumNextId > nextId) {
-            nextId = minimumNextId;
-        }
+        NEXT_ID.accumulateAndGet(minimumNextId, Math::max);
     }
 
     public String getName() {
@@ -61,7 +62,28 @@ public Player(String name, int gridSize, List<Integer> fleetShipSizes) {
     }
 
     public boolean hasLost() {
-        return fleet.areAllShipsSunk();
+        return shipIndex().allShipsSunk();
+    }
+
+    /** Navires encore à flot, sans parcourir la flotte. */
+    public int getRemainingShipCount() {
+        return shipIndex().getShipsAfloat();
+    }
+
+    /**
+     * Cases du navire coulé occupant {@code coordinate} (information publique une fois le navire
+     * coulé), sinon {@code null}.
+     */
+    public List<Coordinate> getSunkShipCoordinatesAt(Coordinate coordinate) {
+        Ship ship = shipIndex().shipAt(coordinate);
+        return ship != null && ship.isSunk() ? ship.getCoordinates() : null;
+    }
+
+    ShipIndex shipIndex() {
+        if (shipIndex == null || !shipIndex.isCurrentFor(fleet)) {
+            shipIndex = ShipIndex.build(grid, fleet);
+        }
+        return shipIndex;
     }
 
     /**
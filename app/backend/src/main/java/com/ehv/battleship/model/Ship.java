@@ -4,12 +4,13 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Ship implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
-    private static int nextId = 1;
+    private static final AtomicInteger NEXT_ID = new AtomicInteger(1);
     private final int id;
     private final String name;
     private final int size;
@@ -31,9 +32,7 @@ public class Ship implements Serializable {
     }
 
     public static void ensureNextIdAtLeast(int minimumNextId) {
-        if (minimumNextId > nextId) {
-            nextId = minimumNextId;
-        }
+        NEXT_ID.accumulateAndGet(minimumNextId, Math::max);
     }
 
     public String getName() {
@@ -61,6 +60,6 @@ public class Ship implements Serializable {
     }
 
     public static int generateId() {
-        return nextId++;
+        return NEXT_ID.getAndIncrement();
     }
 }
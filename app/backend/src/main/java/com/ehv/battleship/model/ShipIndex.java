@@ -0,0 +1,118 @@
+package com.ehv.battleship.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index dérivé d'un plateau : case → navire, touches restantes par navire et nombre de navires
+ * à flot. Rend la résolution d'un tir, la détection de coulé et {@link Player#hasLost()} en O(1).
+ *
+ * <p>Jamais persisté : {@link Player} le reconstruit à partir de la grille et de la flotte dès que
+ * la flotte a changé (placement, retrait) ou après un rechargement. Les tirs doivent passer par
+ * {@link Game#shoot} pour que les compteurs restent alignés sur la grille.
+ */
+final class ShipIndex {
+
+    private static final int NO_SHIP = -1;
+
+    private final int fleetVersion;
+    private final int gridSize;
+    private final int[] slotByCell;
+    private final Ship[] ships;
+    private final int[] remainingHits;
+    private int shipsAfloat;
+
+    private ShipIndex(int fleetVersion, int gridSize, int shipCount) {
+        this.fleetVersion = fleetVersion;
+        this.gridSize = gridSize;
+        this.slotByCell = new int[gridSize * gridSize];
+        this.ships = new Ship[shipCount];
+        this.remainingHits = new int[shipCount];
+        Arrays.fill(slotByCell, NO_SHIP);
+    }
+
+    static ShipIndex build(Grid grid, Fleet fleet) {
+        List<Ship> fleetShips = fleet.getShips();
+        ShipIndex index = new ShipIndex(fleet.getModificationCount(), grid.getSize(), fleetShips.size());
+        for (int slot = 0; slot < fleetShips.size(); slot++) {
+            Ship ship = fleetShips.get(slot);
+            index.ships[slot] = ship;
+            int remaining = 0;
+            for (Coordinate coordinate : ship.getCoordinates()) {
+                if (!coordinate.isValid(index.gridSize)) {
+                    continue;
+                }
+                index.slotByCell[index.cellOf(coordinate)] = slot;
+                if (grid.getCell(coordinate) == CellStatus.SHIP) {
+                    remaining++;
+                }
+            }
+            index.remainingHits[slot] = ship.isSunk() ? 0 : remaining;
+            if (!ship.isSunk()) {
+                index.shipsAfloat++;
+            }
+        }
+        return index;
+    }
+
+    boolean isCurrentFor(Fleet fleet) {
+        return fleet.getModificationCount() == fleetVersion;
+    }
+
+    /** Navire occupant la case, ou {@code null}. */
+    Ship shipAt(Coordinate coordinate) {
+        if (!coordinate.isValid(gridSize)) {
+            return null;
+        }
+        int slot = slotByCell[cellOf(coordinate)];
+        return slot == NO_SHIP ? null : ships[slot];
+    }
+
+    /**
+     * Enregistre une touche sur la case (qui portait un navire intact).
+     * @return le navire s'il vient d'être coulé, sinon {@code null}
+     */
+    Ship registerHit(Coordinate coordinate) {
+        if (!coordinate.isValid(gridSize)) {
+            return null;
+        }
+        int slot = slotByCell[cellOf(coordinate)];
+        if (slot == NO_SHIP || remainingHits[slot] == 0) {
+            return null;
+        }
+        remainingHits[slot]--;
+        if (remainingHits[slot] > 0) {
+            return null;
+        }
+        sink(slot);
+        return ships[slot];
+    }
+
+    /** Coule tous les navires encore à flot (forfait). */
+    void sinkAll() {
+        for (int slot = 0; slot < ships.length; slot++) {
+            if (!ships[slot].isSunk()) {
+                remainingHits[slot] = 0;
+                sink(slot);
+            }
+        }
+    }
+
+    /** Même sémantique que {@link Fleet#areAllShipsSunk()} : une flotte vide n'est pas perdue. */
+    boolean allShipsSunk() {
+        return ships.length > 0 && shipsAfloat == 0;
+    }
+
+    int getShipsAfloat() {
+        return shipsAfloat;
+    }
+
+    private void sink(int slot) {
+        ships[slot].setSunk(true);
+        shipsAfloat--;
+    }
+
+    private int cellOf(Coordinate coordinate) {
+        return coordinate.getY() * gridSize + coordinate.getX();
+    }
+}
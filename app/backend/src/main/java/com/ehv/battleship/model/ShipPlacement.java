@@ -0,0 +1,14 @@
+package com.ehv.battleship.model;
+
+/**
+ * Placement candidat d'un navire : case de départ et orientation (voir
+ * {@link Grid#generateShipCoordinates}).
+ */
+public record ShipPlacement(Coordinate start, ShipOrientation orientation) {
+
+    public ShipPlacement {
+        if (start == null || orientation == null) {
+            throw new IllegalArgumentException("start et orientation sont requis");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.ehv.battleship.model;
+
+/**
+ * Moteur de ciblage d'une {@link AI}. Persisté par nom dans les sauvegardes.
+ */
+public enum TargetingMode {
+    /** Historique : tirs uniformes au hasard puis file des cases adjacentes après une touche. */
+    HUNT_AND_TARGET,
+    /**
+     * Carte de densité : pour chaque case inconnue, nombre de placements possibles des navires
+     * restants qui la couvrent ; tir sur le maximum.
+     */
+    PROBABILITY_DENSITY
+}
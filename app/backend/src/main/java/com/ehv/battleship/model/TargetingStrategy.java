@@ -0,0 +1,23 @@
+package com.ehv.battleship.model;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Mémoire de tir d'une IA contre <b>un</b> adversaire : choisit la prochaine case et apprend du
+ * résultat. Les implémentations sont sélectionnées via {@link TargetingMode}.
+ */
+interface TargetingStrategy {
+
+    /** Touches non résolues en cours de poursuite (l'IA privilégie alors cet adversaire). */
+    boolean hasActiveHunt();
+
+    /** Prochaine case jamais visée sur la grille adverse. */
+    Coordinate nextCoordinate(int gridSize, RandomGenerator randomSource);
+
+    /**
+     * @param sunkShip cases du navire coulé si {@code result == SUNK} et qu'elles sont connues
+     *                 (information publique), sinon {@code null}
+     */
+    void onShotResult(Coordinate shot, ShotResult result, List<Coordinate> sunkShip, int gridSize);
+}
@@ -0,0 +1,76 @@
+package com.ehv.battleship.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Format binaire des fichiers {@code .save} : en-tête {@code EHVS} + version d'enveloppe
+ * (un octet), puis l'arbre {@link SavedGameSnapshot} en JSON compact compressé DEFLATE.
+ *
+ * <p>Le contenu reste l'arbre Gson du format JSON ({@link SavedGameSnapshot#FORMAT_VERSION},
+ * grilles déjà compactées par {@link GridTypeAdapter}) : un seul schéma à faire évoluer, et les
+ * lignes de grille répétitives se compressent presque entièrement. L'écriture est en flux, sans
+ * chaîne JSON intermédiaire. Le JSON lisible reste le format d'import/export.
+ */
+final class BinarySnapshotCodec {
+
+    static final int ENVELOPE_VERSION = 1;
+    private static final byte[] MAGIC = {'E', 'H', 'V', 'S'};
+
+    private BinarySnapshotCodec() {
+    }
+
+    /** Vrai si {@code content} commence par l'en-tête binaire (un JSON commence par {@code {} ou un blanc). */
+    static boolean isBinary(byte[] content) {
+        if (content.length < MAGIC.length + 1) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (content[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void write(SavedGameSnapshot snapshot, Gson compactGson, OutputStream out) throws IOException {
+        out.write(MAGIC);
+        out.write(ENVELOPE_VERSION);
+        // BEST_SPEED : l'essentiel du gain (grilles, noms répétés) pour une fraction du temps CPU.
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (Writer writer = new OutputStreamWriter(new DeflaterOutputStream(out, deflater), StandardCharsets.UTF_8)) {
+            compactGson.toJson(snapshot, SavedGameSnapshot.class, writer);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static SavedGameSnapshot read(byte[] content, Gson compactGson) throws IOException {
+        int version = content[MAGIC.length];
+        if (version != ENVELOPE_VERSION) {
+            throw new IOException("Version de sauvegarde binaire non supportée : " + version);
+        }
+        ByteArrayInputStream payload = new ByteArrayInputStream(content, MAGIC.length + 1, content.length - MAGIC.length - 1);
+        try (Reader reader = new InputStreamReader(new InflaterInputStream(payload), StandardCharsets.UTF_8)) {
+            SavedGameSnapshot snapshot = compactGson.fromJson(reader, SavedGameSnapshot.class);
+            if (snapshot == null || snapshot.getGame() == null) {
+                throw new IOException("Sauvegarde binaire invalide : partie absente");
+            }
+            return snapshot;
+        } catch (JsonParseException exception) {
+            throw new IOException("Sauvegarde binaire illisible : " + exception.getMessage(), exception);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.ehv.battleship.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Journal d'une partie en cours : un instantané complet ({@code <id>.<g>.snapshot}, enveloppe
+ * binaire) et, en ajout seul, les commandes jouées depuis ({@code <id>.<g>.journal}). Un coup
+ * coûte un enregistrement de quelques dizaines d'octets, quelle que soit la taille du plateau.
+ *
+ * <p>Compaction : {@link #checkpoint} écrit la génération {@code g + 1} (instantané via fichier
+ * temporaire et renommage atomique, journal vide) avant d'effacer la génération {@code g}. Un
+ * arrêt brutal à n'importe quel moment laisse donc une génération complète et cohérente ;
+ * {@link #open} efface le reste (journal ou instantané temporaire d'une génération inachevée).
+ *
+ * <p>Les écritures disque ({@code fsync} des ajouts, instantanés) sont confiées au
+ * {@link GroupCommitWriter} des sauvegardes : un coup n'attend jamais le disque, et ce qui est
+ * joué pendant la fenêtre de durabilité peut être perdu sur un arrêt brutal, jamais corrompu.
+ *
+ * <p>Enregistrements au format {@link JournalRecordCodec} ; une fin de fichier déchirée (écriture
+ * interrompue) est détectée au rejeu et tronquée.
+ *
+ * <p>Non synchronisé : utilisé sous le verrou de la session propriétaire.
+ */
+public final class GameJournal implements Closeable {
+
+    private static final Pattern SAFE_GAME_ID = Pattern.compile("^[a-zA-Z0-9_-]{1,64}$");
+    private static final Pattern JOURNAL_FILE =
+        Pattern.compile("^([a-zA-Z0-9_-]{1,64})\\.\\d+\\.(snapshot|journal|snapshot\\.tmp)$");
+    /** Dernière écriture ou suppression encore en file, par partie (salon évincé puis rouvert aussitôt). */
+    private static final Map<Path, CompletableFuture<Void>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final String gameId;
+    private long generation;
+    private boolean hasSnapshot;
+    private FileChannel log;
+    private int pendingCommands;
+    /** Journal de la génération courante à repartir de zéro à sa première ouverture. */
+    private boolean freshLog;
+    private CompletableFuture<Void> lastCheckpoint = CompletableFuture.completedFuture(null);
+
+    /** Instantané de départ et commandes à rejouer par-dessus, dans l'ordre. */
+    public record Recovered(SavedGameSnapshot snapshot, List<JournalCommand> commands) {}
+
+    private GameJournal(Path directory, String gameId, long generation, boolean hasSnapshot) {
+        this.directory = directory;
+        this.gameId = gameId;
+        this.generation = generation;
+        this.hasSnapshot = hasSnapshot;
+    }
+
+    /** Ouvre (sans la lire) la dernière génération complète du journal de {@code gameId}. */
+    public static GameJournal open(Path directory, String gameId) throws IOException {
+        if (gameId == null || !SAFE_GAME_ID.matcher(gameId).matches()) {
+            throw new IllegalArgumentException("Identifiant de partie invalide pour le journal.");
+        }
+        Files.createDirectories(directory);
+        // Seul le travail disque en file pour cette partie compte : pas d'attente d'un lot entier.
+        CompletableFuture<Void> inFlight = IN_FLIGHT.get(directory.resolve(gameId));
+        if (inFlight != null) {
+            inFlight.exceptionally(failure -> null).join();
+        }
+        Pattern fileName = Pattern.compile(Pattern.quote(gameId) + "\\.(\\d+)\\.(snapshot|journal|snapshot\\.tmp)");
+        List<Path> files = new ArrayList<>();
+        List<Long> generations = new ArrayList<>();
+        long latest = 0;
+        boolean found = false;
+        try (Stream<Path> listing = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) listing::iterator) {
+                Matcher matcher = fileName.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    long generation = Long.parseLong(matcher.group(1));
+                    files.add(file);
+                    generations.add(generation);
+                    if ("snapshot".equals(matcher.group(2))) {
+                        latest = Math.max(latest, generation);
+                        found = true;
+                    }
+                }
+            }
+        }
+        // Restes d'un arrêt brutal : tout ce qui n'est pas la dernière génération complète
+        // (journal ou instantané temporaire d'une compaction inachevée, génération déjà remplacée).
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            if (generations.get(i) != latest || file.getFileName().toString().endsWith(".tmp")) {
+                Files.deleteIfExists(file);
+            }
+        }
+        return new GameJournal(directory, gameId, latest, found);
+    }
+
+    /**
+     * Efface les journaux des parties qu'aucun fichier n'a touchées depuis {@code maxAge} (salons
+     * que personne ne rouvrira). Appelé au démarrage, avant toute ouverture.
+     *
+     * @return nombre de parties effacées
+     */
+    public static int deleteOlderThan(Path directory, Duration maxAge) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        Map<String, List<Path>> filesByGame = new HashMap<>();
+        Map<String, Long> lastTouchedByGame = new HashMap<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) listing::iterator) {
+                Matcher matcher = JOURNAL_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    filesByGame.computeIfAbsent(matcher.group(1), id -> new ArrayList<>()).add(file);
+                    lastTouchedByGame.merge(matcher.group(1), Files.getLastModifiedTime(file).toMillis(), Math::max);
+                }
+            }
+        }
+        long cutoff = System.currentTimeMillis() - maxAge.toMillis();
+        int deleted = 0;
+        for (Map.Entry<String, List<Path>> game : filesByGame.entrySet()) {
+            if (lastTouchedByGame.get(game.getKey()) < cutoff) {
+                for (Path file : game.getValue()) {
+                    Files.deleteIfExists(file);
+                }
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /** @return {@code null} si aucun instantané n'a encore été écrit pour cette partie */
+    public Recovered recover() throws IOException {
+        if (!hasSnapshot) {
+            return null;
+        }
+        SavedGameSnapshot snapshot = GamePersistence.readSnapshot(snapshotPath(generation));
+        List<JournalCommand> commands = new ArrayList<>();
+        Path logPath = logPath(generation);
+        if (Files.exists(logPath)) {
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(logPath));
+            long valid = 0;
+            JournalCommand command;
+            while ((command = JournalRecordCodec.read(content)) != null) {
+                commands.add(command);
+                valid = content.position();
+            }
+            if (valid < content.capacity()) {
+                try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                }
+            }
+        }
+        pendingCommands = commands.size();
+        return new Recovered(snapshot, commands);
+    }
+
+    public void append(JournalCommand command) throws IOException {
+        if (!hasSnapshot) {
+            throw new IllegalStateException("Journal sans instantané de départ : appeler checkpoint d'abord.");
+        }
+        if (lastCheckpoint.isCompletedExceptionally()) {
+            throw new IOException("Instantané de départ non écrit : nouveau checkpoint nécessaire.");
+        }
+        if (log == null) {
+            // Une génération neuve ne reprend jamais un journal laissé par une compaction interrompue.
+            log = freshLog
+                ? FileChannel.open(logPath(generation),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)
+                : FileChannel.open(logPath(generation),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            freshLog = false;
+        }
+        ByteBuffer record = JournalRecordCodec.encode(command);
+        while (record.hasRemaining()) {
+            log.write(record);
+        }
+        GamePersistence.writer().force(log);
+        pendingCommands++;
+    }
+
+    /** Commandes ajoutées depuis le dernier instantané. */
+    public int pendingCommands() {
+        return pendingCommands;
+    }
+
+    /**
+     * Nouvelle génération : {@code snapshot} devient l'état de départ, journal vide. L'instantané
+     * est sérialisé tout de suite et écrit au prochain lot ; la génération {@code g} n'est effacée
+     * qu'une fois {@code g + 1} durable.
+     */
+    public void checkpoint(SavedGameSnapshot snapshot) throws IOException {
+        long next = generation + 1;
+        byte[] content = GamePersistence.encodeBinary(snapshot);
+        closeLog();
+        long previous = generation;
+        boolean hadSnapshot = hasSnapshot;
+        generation = next;
+        hasSnapshot = true;
+        pendingCommands = 0;
+        freshLog = true;
+        CompletableFuture<Void> written = GamePersistence.writer().writeAtomically(snapshotPath(next), content);
+        track(hadSnapshot ? written.thenRun(() -> deleteGenerationQuietly(previous)) : written);
+    }
+
+    /**
+     * Partie terminée ou abandonnée : plus rien à reprendre. Les fichiers sont effacés par
+     * l'écrivain de fond, après l'instantané éventuellement encore en file ; l'appelant n'attend pas.
+     */
+    public void delete() throws IOException {
+        closeLog();
+        long target = generation;
+        hasSnapshot = false;
+        pendingCommands = 0;
+        track(GamePersistence.writer().flush().thenRun(() -> deleteGenerationQuietly(target)));
+    }
+
+    /** Attend l'écriture du dernier instantané : à la fermeture, tout ce qui a été consigné est sur disque. */
+    @Override
+    public void close() throws IOException {
+        if (log != null) {
+            log.force(false);
+        }
+        closeLog();
+        GamePersistence.awaitDurable(lastCheckpoint);
+    }
+
+    private void track(CompletableFuture<Void> work) {
+        lastCheckpoint = work;
+        Path key = directory.resolve(gameId);
+        IN_FLIGHT.put(key, work);
+        work.whenComplete((ignored, failure) -> IN_FLIGHT.remove(key, work));
+    }
+
+    private void closeLog() throws IOException {
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+
+    private void deleteGeneration(long target) throws IOException {
+        Files.deleteIfExists(logPath(target));
+        Files.deleteIfExists(snapshotPath(target));
+    }
+
+    private void deleteGenerationQuietly(long target) {
+        try {
+            deleteGeneration(target);
+        } catch (IOException ignoredLeftover) {
+            // Génération obsolète : open() prend toujours la plus récente.
+        }
+    }
+
+    private Path snapshotPath(long target) {
+        return directory.resolve(gameId + "." + target + ".snapshot");
+    }
+
+    private Path logPath(long target) {
+        return directory.resolve(gameId + "." + target + ".journal");
+    }
+}
@@ -1,38 +1,99 @@
 package com.ehv.battleship.persistence;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Pattern;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
 import com.ehv.battleship.model.Game;
+import com.ehv.battleship.model.Grid;
 import com.ehv.battleship.model.Player;
 import com.ehv.battleship.model.Ship;
 
+/**
+ * Lecture / écriture des instantanés de partie. Les fichiers {@code .save} sont écrits au format
+ * binaire ({@link BinarySnapshotCodec}) par défaut ; le JSON lisible sert à l'import/export et
+ * reste accepté au chargement (détection par l'en-tête du fichier).
+ *
+ * <p>Toute écriture passe par un {@link GroupCommitWriter} partagé : fichier temporaire puis
+ * renommage atomique, {@code fsync} groupés par fenêtre de durabilité
+ * ({@link #configureDurabilityWindow}).
+ */
 public final class GamePersistence {
 
+    /** Format d'écriture d'un fichier {@code .save}. */
+    public enum SaveFormat { BINARY, JSON }
+
     private static final Pattern SAFE_FILE_NAME = Pattern.compile("^[a-zA-Z0-9._-]{1,64}$");
     private static final Path SAVES_DIR = Paths.get("saves").toAbsolutePath().normalize();
 
     private static final Gson GSON = new GsonBuilder()
         .setPrettyPrinting()
+        .registerTypeAdapter(Grid.class, new GridTypeAdapter())
+        .registerTypeHierarchyAdapter(Player.class, new PlayerTypeAdapter())
+        .create();
+    /** Même arbre sans indentation, pour le format binaire. */
+    private static final Gson COMPACT_GSON = new GsonBuilder()
+        .registerTypeAdapter(Grid.class, new GridTypeAdapter())
         .registerTypeHierarchyAdapter(Player.class, new PlayerTypeAdapter())
         .create();
 
+    /** Fenêtre par défaut : quelques millisecondes suffisent à regrouper les autosauvegardes simultanées. */
+    public static final Duration DEFAULT_DURABILITY_WINDOW = Duration.ofMillis(10);
+
+    private static Duration durabilityWindow = DEFAULT_DURABILITY_WINDOW;
+    private static GroupCommitWriter writer;
+    private static final SaveCatalog CATALOG = new SaveCatalog(SAVES_DIR);
+
     private GamePersistence() {
     }
 
+    /** À appeler au démarrage, avant la première écriture ; sans effet ensuite. */
+    public static synchronized void configureDurabilityWindow(Duration window) {
+        if (window == null || window.isNegative()) {
+            throw new IllegalArgumentException("La fenêtre de durabilité doit être positive ou nulle");
+        }
+        if (writer == null) {
+            durabilityWindow = window;
+        }
+    }
+
+    static synchronized GroupCommitWriter writer() {
+        if (writer == null) {
+            writer = new GroupCommitWriter(durabilityWindow);
+        }
+        return writer;
+    }
+
+    /**
+     * Valide ce qui attend encore sa fenêtre de durabilité puis arrête l'écrivain (arrêt de
+     * l'application) ; un nouvel écrivain est créé si une écriture suit.
+     */
+    public static synchronized void closeWriter() {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
     public static Path savesDirectory() {
         return SAVES_DIR;
     }
 
+    /** Catalogue des fichiers {@code .save}, tenu à jour par les écritures de cette classe. */
+    public static SaveCatalog catalog() {
+        return CATALOG;
+    }
+
     public static String toJson(SavedGameSnapshot snapshot) {
         if (snapshot == null) {
             throw new IllegalArgumentException("L'instantané ne peut pas être nul");
@@ -44,18 +105,35 @@ public final class GamePersistence {
         if (json == null || json.isBlank()) {
             throw new IllegalArgumentException("Le contenu JSON est vide");
         }
-        JsonObject root = JsonParser.parseString(json).getAsJsonObject();
-        if (root.has("formatVersion")) {
-            SavedGameSnapshot snapshot = GSON.fromJson(json, SavedGameSnapshot.class);
-            synchronizeIdCounters(snapshot.getGame());
-            return snapshot;
+        SavedGameSnapshot snapshot = GSON.fromJson(json, SavedGameSnapshot.class);
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Le contenu JSON est vide");
         }
-        Game legacyGame = GSON.fromJson(json, Game.class);
-        synchronizeIdCounters(legacyGame);
-        return SavedGameSnapshot.fromGameOnly(legacyGame);
+        if (snapshot.getGame() == null) {
+            // Sauvegarde antérieure aux instantanés : la racine est la partie elle-même (relue une seconde fois).
+            Game legacyGame = GSON.fromJson(json, Game.class);
+            synchronizeIdCounters(legacyGame);
+            return SavedGameSnapshot.fromGameOnly(legacyGame);
+        }
+        synchronizeIdCounters(snapshot.getGame());
+        return snapshot;
     }
 
     public static void saveSnapshot(SavedGameSnapshot snapshot, String fileName) throws IOException {
+        saveSnapshot(snapshot, fileName, SaveFormat.BINARY);
+    }
+
+    /** Écriture synchrone : rend la main une fois le fichier durable sur disque. */
+    public static void saveSnapshot(SavedGameSnapshot snapshot, String fileName, SaveFormat format) throws IOException {
+        awaitDurable(saveSnapshotAsync(snapshot, fileName, format));
+    }
+
+    /**
+     * Valide et sérialise tout de suite (l'instantané peut ensuite évoluer), puis confie l'écriture
+     * atomique au lot suivant. Le futur échoue avec l'{@link IOException} éventuelle.
+     */
+    public static CompletableFuture<Void> saveSnapshotAsync(SavedGameSnapshot snapshot, String fileName, SaveFormat format)
+        throws IOException {
         if (snapshot == null) {
             throw new IllegalArgumentException("L'instantané ne peut pas être nul");
         }
@@ -63,12 +141,60 @@ public final class GamePersistence {
             throw new IllegalArgumentException("Le nom du fichier ne peut pas être vide");
         }
         Path path = resolveSafeSavePath(fileName);
-        Files.createDirectories(path.getParent());
-        Files.writeString(path, toJson(snapshot), StandardCharsets.UTF_8);
+        byte[] content = format == SaveFormat.JSON
+            ? toJson(snapshot).getBytes(StandardCharsets.UTF_8)
+            : encodeBinary(snapshot);
+        SaveCatalog.Summary summary = SaveCatalog.Summary.of(snapshot.getGame());
+        // Résumé attaché au contenu : deux sauvegardes fusionnées dans un lot gardent celui qui est écrit.
+        return writer().writeAtomically(path, content, () -> CATALOG.recordWrite(path, summary));
     }
 
+    /** Attend un futur d'écriture et restitue son {@link IOException} telle quelle. */
+    public static void awaitDurable(CompletableFuture<Void> write) throws IOException {
+        try {
+            write.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw exception;
+        }
+    }
+
+    /** Charge un {@code .save} binaire ou JSON (historique), selon son en-tête. */
     public static SavedGameSnapshot loadSnapshot(String fileName) throws IOException {
-        return fromJson(readFileUtf8(resolveSafeSavePath(fileName)));
+        return readSnapshot(resolveSafeSavePath(fileName));
+    }
+
+    /** Enveloppe binaire en mémoire, prête pour une écriture atomique (sauvegardes, journal). */
+    static byte[] encodeBinary(SavedGameSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        BinarySnapshotCodec.write(snapshot, COMPACT_GSON, out);
+        return out.toByteArray();
+    }
+
+    static SavedGameSnapshot readSnapshot(Path path) throws IOException {
+        byte[] content = readFile(path);
+        if (BinarySnapshotCodec.isBinary(content)) {
+            SavedGameSnapshot snapshot = BinarySnapshotCodec.read(content, COMPACT_GSON);
+            synchronizeIdCounters(snapshot.getGame());
+            return snapshot;
+        }
+        return fromJson(new String(content, StandardCharsets.UTF_8));
+    }
+
+    /** Lecture sans effet de bord sur les compteurs d'identifiants (résumés du catalogue). */
+    static SavedGameSnapshot peekSnapshot(Path path) throws IOException {
+        byte[] content = Files.readAllBytes(path);
+        if (BinarySnapshotCodec.isBinary(content)) {
+            return BinarySnapshotCodec.read(content, COMPACT_GSON);
+        }
+        String json = new String(content, StandardCharsets.UTF_8);
+        SavedGameSnapshot snapshot = GSON.fromJson(json, SavedGameSnapshot.class);
+        if (snapshot == null) {
+            throw new IOException("Sauvegarde vide : " + path.getFileName());
+        }
+        return snapshot.getGame() != null ? snapshot : SavedGameSnapshot.fromGameOnly(GSON.fromJson(json, Game.class));
     }
 
   /** @deprecated Préférer {@link #saveSnapshot}. Conservé pour compatibilité interne. */
@@ -81,11 +207,11 @@ public final class GamePersistence {
         return loadSnapshot(fileName).getGame();
     }
 
-    private static String readFileUtf8(Path path) throws IOException {
+    private static byte[] readFile(Path path) throws IOException {
         if (!Files.exists(path)) {
             throw new IOException("Fichier de sauvegarde introuvable : " + path);
         }
-        return Files.readString(path, StandardCharsets.UTF_8);
+        return Files.readAllBytes(path);
     }
 
     private static void synchronizeIdCounters(Game game) {
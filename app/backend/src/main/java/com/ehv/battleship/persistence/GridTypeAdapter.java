@@ -0,0 +1,154 @@
+package com.ehv.battleship.persistence;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import com.ehv.battleship.model.CellStatus;
+import com.ehv.battleship.model.Grid;
+
+/**
+ * Sérialisation compacte de {@link Grid} : une chaîne par ligne, un caractère par case
+ * ({@code .} vide, {@code S} navire, {@code H} touché, {@code M} manqué, {@code X} coulé).
+ *
+ * <p>Les sauvegardes antérieures au stockage compact contiennent un tableau {@code cells} de
+ * cellules ({@code {"coordinate": {...}, "status": "SHIP"}}) : elles sont relues et migrées
+ * à la volée, la prochaine écriture produisant le format compact.
+ */
+final class GridTypeAdapter extends TypeAdapter<Grid> {
+
+    private static final String SIZE_FIELD = "size";
+    private static final String ROWS_FIELD = "rows";
+    private static final String LEGACY_CELLS_FIELD = "cells";
+
+    @Override
+    public void write(JsonWriter out, Grid grid) throws IOException {
+        if (grid == null) {
+            out.nullValue();
+            return;
+        }
+        int size = grid.getSize();
+        out.beginObject();
+        out.name(SIZE_FIELD).value(size);
+        out.name(ROWS_FIELD).beginArray();
+        StringBuilder row = new StringBuilder(size);
+        for (int y = 0; y < size; y++) {
+            row.setLength(0);
+            for (int x = 0; x < size; x++) {
+                row.append(toCode(grid.getCell(x, y)));
+            }
+            out.value(row.toString());
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    @Override
+    public Grid read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        int size = -1;
+        List<String> rows = null;
+        JsonArray legacyCells = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case SIZE_FIELD -> size = in.nextInt();
+                case ROWS_FIELD -> rows = readRows(in);
+                case LEGACY_CELLS_FIELD -> legacyCells = JsonParser.parseReader(in).getAsJsonArray();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        if (size < 0) {
+            throw new IOException("Format Grid JSON invalide : taille absente");
+        }
+        Grid grid = new Grid(size);
+        if (rows != null) {
+            applyRows(grid, rows);
+        } else if (legacyCells != null) {
+            applyLegacyCells(grid, legacyCells);
+        }
+        return grid;
+    }
+
+    private static List<String> readRows(JsonReader in) throws IOException {
+        List<String> rows = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            rows.add(in.nextString());
+        }
+        in.endArray();
+        return rows;
+    }
+
+    private static void applyRows(Grid grid, List<String> rows) throws IOException {
+        int size = grid.getSize();
+        if (rows.size() != size) {
+            throw new IOException("Format Grid JSON invalide : " + rows.size() + " lignes pour " + size);
+        }
+        for (int y = 0; y < size; y++) {
+            String row = rows.get(y);
+            if (row.length() != size) {
+                throw new IOException("Format Grid JSON invalide : ligne " + y + " de longueur " + row.length());
+            }
+            for (int x = 0; x < size; x++) {
+                CellStatus status = fromCode(row.charAt(x));
+                if (status != CellStatus.EMPTY) {
+                    grid.setCell(x, y, status);
+                }
+            }
+        }
+    }
+
+    /** Migration des sauvegardes {@code Cell[][]} (une cellule objet par case). */
+    private static void applyLegacyCells(Grid grid, JsonArray legacyRows) {
+        for (JsonElement rowElement : legacyRows) {
+            for (JsonElement cellElement : rowElement.getAsJsonArray()) {
+                JsonObject cell = cellElement.getAsJsonObject();
+                JsonObject coordinate = cell.getAsJsonObject("coordinate");
+                JsonElement status = cell.get("status");
+                if (coordinate == null || status == null || status.isJsonNull()) {
+                    continue;
+                }
+                CellStatus parsed = CellStatus.valueOf(status.getAsString());
+                if (parsed != CellStatus.EMPTY) {
+                    grid.setCell(coordinate.get("x").getAsInt(), coordinate.get("y").getAsInt(), parsed);
+                }
+            }
+        }
+    }
+
+    private static char toCode(CellStatus status) {
+        return switch (status) {
+            case EMPTY -> '.';
+            case SHIP -> 'S';
+            case HIT -> 'H';
+            case MISS -> 'M';
+            case SUNK -> 'X';
+        };
+    }
+
+    private static CellStatus fromCode(char code) throws IOException {
+        return switch (code) {
+            case '.' -> CellStatus.EMPTY;
+            case 'S' -> CellStatus.SHIP;
+            case 'H' -> CellStatus.HIT;
+            case 'M' -> CellStatus.MISS;
+            case 'X' -> CellStatus.SUNK;
+            default -> throw new IOException("Code de case inconnu : " + code);
+        };
+    }
+}
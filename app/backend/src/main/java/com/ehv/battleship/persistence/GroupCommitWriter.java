@@ -0,0 +1,227 @@
+package com.ehv.battleship.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Écrivain de fond des sauvegardes : les écritures demandées pendant une fenêtre de durabilité
+ * sont validées ensemble (« group commit ») par un seul thread, hors des verrous de partie.
+ *
+ * <p>Chaque fichier est écrit de façon atomique : fichier temporaire, {@code fsync}, renommage,
+ * puis un seul {@code fsync} par répertoire touché pour tout le lot. Un arrêt brutal laisse donc
+ * l'ancienne ou la nouvelle version, jamais un fichier tronqué. Deux écritures du même fichier
+ * dans la même fenêtre sont fusionnées : seule la dernière touche le disque.
+ *
+ * <p>Les canaux en ajout (journaux de partie) peuvent aussi demander leur {@code fsync} : il est
+ * fait une fois par lot, quel que soit le nombre d'ajouts depuis le précédent.
+ */
+public final class GroupCommitWriter implements Closeable {
+
+    private final long windowMs;
+    private final Map<Path, PendingWrite> writes = new LinkedHashMap<>();
+    private final Map<FileChannel, CompletableFuture<Void>> forces = new LinkedHashMap<>();
+    private final List<CompletableFuture<Void>> barriers = new ArrayList<>();
+    private final Thread committer;
+    private boolean closed;
+
+    private record PendingWrite(byte[] content, Runnable afterWrite, CompletableFuture<Void> done) {}
+
+    /** @param window délai maximal entre une demande et son {@code fsync} (0 : dès que possible) */
+    public GroupCommitWriter(Duration window) {
+        this.windowMs = Math.max(0, window.toMillis());
+        this.committer = new Thread(this::run, "save-group-commit");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /** Remplace {@code target} par {@code content} au prochain lot ; le futur se termine une fois durable. */
+    public CompletableFuture<Void> writeAtomically(Path target, byte[] content) {
+        return writeAtomically(target, content, null);
+    }
+
+    /**
+     * Idem ; {@code afterWrite} est exécuté sur le thread d'écriture une fois ce contenu-là sur
+     * disque. Si une écriture plus récente du même fichier le remplace dans le lot, seul le
+     * {@code afterWrite} de la plus récente s'exécute.
+     */
+    public CompletableFuture<Void> writeAtomically(Path target, byte[] content, Runnable afterWrite) {
+        synchronized (this) {
+            ensureOpen();
+            PendingWrite previous = writes.get(target);
+            CompletableFuture<Void> done = previous != null ? previous.done() : new CompletableFuture<>();
+            writes.put(target, new PendingWrite(content, afterWrite, done));
+            notifyAll();
+            return done;
+        }
+    }
+
+    /** {@code fsync} de {@code channel} au prochain lot. */
+    public CompletableFuture<Void> force(FileChannel channel) {
+        synchronized (this) {
+            ensureOpen();
+            CompletableFuture<Void> done = forces.computeIfAbsent(channel, key -> new CompletableFuture<>());
+            notifyAll();
+            return done;
+        }
+    }
+
+    /** Se termine une fois validé tout ce qui a été demandé avant l'appel (lot en cours compris). */
+    public CompletableFuture<Void> flush() {
+        synchronized (this) {
+            ensureOpen();
+            CompletableFuture<Void> barrier = new CompletableFuture<>();
+            barriers.add(barrier);
+            notifyAll();
+            return barrier;
+        }
+    }
+
+    /** Valide ce qui est en attente puis arrête le thread. */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Écrivain de sauvegarde fermé");
+        }
+    }
+
+    private void run() {
+        while (true) {
+            Map<Path, PendingWrite> batchWrites;
+            Map<FileChannel, CompletableFuture<Void>> batchForces;
+            List<CompletableFuture<Void>> batchBarriers;
+            synchronized (this) {
+                try {
+                    while (!closed && !hasPending()) {
+                        wait();
+                    }
+                    // La fenêtre court depuis la première demande : les suivantes rejoignent le lot.
+                    // Un flush() la raccourcit.
+                    long deadline = System.nanoTime() + windowMs * 1_000_000L;
+                    long remaining;
+                    while (!closed && barriers.isEmpty() && (remaining = deadline - System.nanoTime()) > 0) {
+                        wait(Math.max(1, remaining / 1_000_000L));
+                    }
+                } catch (InterruptedException interrupted) {
+                    closed = true;
+                }
+                if (closed && !hasPending()) {
+                    return;
+                }
+                batchWrites = new LinkedHashMap<>(writes);
+                batchForces = new LinkedHashMap<>(forces);
+                batchBarriers = new ArrayList<>(barriers);
+                writes.clear();
+                forces.clear();
+                barriers.clear();
+            }
+            try {
+                commit(batchWrites, batchForces);
+                batchBarriers.forEach(barrier -> barrier.complete(null));
+            } catch (Throwable failure) {
+                // Le thread doit survivre : sinon plus aucun futur, présent ou à venir, ne se termine.
+                batchWrites.values().forEach(write -> write.done().completeExceptionally(failure));
+                batchForces.values().forEach(done -> done.completeExceptionally(failure));
+                batchBarriers.forEach(barrier -> barrier.completeExceptionally(failure));
+            }
+        }
+    }
+
+    private boolean hasPending() {
+        return !writes.isEmpty() || !forces.isEmpty() || !barriers.isEmpty();
+    }
+
+    private static void commit(Map<Path, PendingWrite> batchWrites, Map<FileChannel, CompletableFuture<Void>> batchForces) {
+        Set<Path> directories = new LinkedHashSet<>();
+        List<Runnable> completions = new ArrayList<>();
+        for (Map.Entry<Path, PendingWrite> entry : batchWrites.entrySet()) {
+            CompletableFuture<Void> done = entry.getValue().done();
+            Runnable afterWrite = entry.getValue().afterWrite();
+            try {
+                writeDurably(entry.getKey(), entry.getValue().content());
+                directories.add(entry.getKey().toAbsolutePath().getParent());
+                completions.add(() -> {
+                    try {
+                        if (afterWrite != null) {
+                            afterWrite.run();
+                        }
+                    } finally {
+                        done.complete(null);
+                    }
+                });
+            } catch (IOException | RuntimeException exception) {
+                done.completeExceptionally(exception);
+            }
+        }
+        for (Map.Entry<FileChannel, CompletableFuture<Void>> entry : batchForces.entrySet()) {
+            try {
+                entry.getKey().force(false);
+                completions.add(() -> entry.getValue().complete(null));
+            } catch (IOException | RuntimeException exception) {
+                entry.getValue().completeExceptionally(exception);
+            }
+        }
+        for (Path directory : directories) {
+            forceDirectory(directory);
+        }
+        completions.forEach(GroupCommitWriter::runCompletion);
+    }
+
+    /** Un rappel qui échoue ne prive pas les suivants de leur notification. */
+    private static void runCompletion(Runnable completion) {
+        try {
+            completion.run();
+        } catch (RuntimeException ignoredCallbackFailure) {
+            // Le contenu est déjà durable ; seul l'effet de bord du rappel est perdu.
+        }
+    }
+
+    private static void writeDurably(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Rend les renommages du lot durables ; sans effet là où un répertoire ne s'ouvre pas (Windows). */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UncheckedIOException ignoredUnsupported) {
+            // Le renommage reste atomique ; seule sa durabilité dépend alors du système de fichiers.
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ehv.battleship.persistence;
+
+/**
+ * Commande de jeu consignée dans un {@link GameJournal}. Seuls les champs utiles au type sont
+ * renseignés ; les autres valent {@code null}. Le rejeu repasse par le contrôleur legacy : une
+ * commande décrit l'intention du joueur, pas son résultat (l'aléa des IA est dans l'instantané).
+ */
+public record JournalCommand(Type type, int player, Integer x, Integer y, Integer targetPlayer,
+                             String shipType, String orientation) {
+
+    public enum Type { PLACE_SHIP, REMOVE_SHIP, CONFIRM_PLACEMENT, AUTO_PLACE, FIRE, AI_STEP, FORFEIT }
+
+    public static JournalCommand placeShip(int player, String shipType, int x, int y, String orientation) {
+        return new JournalCommand(Type.PLACE_SHIP, player, x, y, null, shipType, orientation);
+    }
+
+    public static JournalCommand removeShip(int player, String shipType, Integer x, Integer y) {
+        return new JournalCommand(Type.REMOVE_SHIP, player, x, y, null, shipType, null);
+    }
+
+    public static JournalCommand confirmPlacement(int player) {
+        return new JournalCommand(Type.CONFIRM_PLACEMENT, player, null, null, null, null, null);
+    }
+
+    public static JournalCommand autoPlace() {
+        return new JournalCommand(Type.AUTO_PLACE, 0, null, null, null, null, null);
+    }
+
+    public static JournalCommand fire(int player, int x, int y, Integer targetPlayer) {
+        return new JournalCommand(Type.FIRE, player, x, y, targetPlayer, null, null);
+    }
+
+    public static JournalCommand aiStep() {
+        return new JournalCommand(Type.AI_STEP, 0, null, null, null, null, null);
+    }
+
+    public static JournalCommand forfeit(int player) {
+        return new JournalCommand(Type.FORFEIT, player, null, null, null, null, null);
+    }
+}
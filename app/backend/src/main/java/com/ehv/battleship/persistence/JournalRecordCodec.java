@@ -0,0 +1,99 @@
+package com.ehv.battleship.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Format d'un enregistrement de {@link GameJournal} : longueur, charge utile, CRC32. La charge
+ * utile porte le type de commande, les entiers (absents : {@link Integer#MIN_VALUE}) et les
+ * chaînes en UTF-8 préfixées de leur longueur.
+ */
+final class JournalRecordCodec {
+
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final int MAX_RECORD_BYTES = 4096;
+
+    private JournalRecordCodec() {
+    }
+
+    static ByteBuffer encode(JournalCommand command) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeByte(command.type().ordinal());
+        payload.writeInt(command.player());
+        payload.writeInt(orNone(command.x()));
+        payload.writeInt(orNone(command.y()));
+        payload.writeInt(orNone(command.targetPlayer()));
+        writeString(payload, command.shipType());
+        writeString(payload, command.orientation());
+        byte[] body = bytes.toByteArray();
+        if (body.length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Commande trop volumineuse pour le journal.");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + body.length + Integer.BYTES);
+        record.putInt(body.length).put(body).putInt((int) crc.getValue());
+        return record.flip();
+    }
+
+    /** Enregistrement suivant, ou {@code null} en fin de fichier ou sur une fin déchirée. */
+    static JournalCommand read(ByteBuffer content) {
+        if (content.remaining() < Integer.BYTES) {
+            return null;
+        }
+        int start = content.position();
+        int length = content.getInt();
+        if (length <= 0 || length > MAX_RECORD_BYTES || content.remaining() < length + Integer.BYTES) {
+            content.position(start);
+            return null;
+        }
+        byte[] body = new byte[length];
+        content.get(body);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if (content.getInt() != (int) crc.getValue()) {
+            content.position(start);
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.wrap(body);
+        JournalCommand.Type type = JournalCommand.Type.values()[payload.get()];
+        int player = payload.getInt();
+        Integer x = fromNone(payload.getInt());
+        Integer y = fromNone(payload.getInt());
+        Integer target = fromNone(payload.getInt());
+        return new JournalCommand(type, player, x, y, target, readString(payload), readString(payload));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        short length = in.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static int orNone(Integer value) {
+        return value == null ? NONE : value;
+    }
+
+    private static Integer fromNone(int value) {
+        return value == NONE ? null : value;
+    }
+}
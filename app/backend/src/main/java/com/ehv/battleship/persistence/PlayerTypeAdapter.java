@@ -9,53 +9,101 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 import com.ehv.battleship.model.AI;
+import com.ehv.battleship.model.Grid;
 import com.ehv.battleship.model.Player;
 
 /**
  * Sérialisation polymorphe {@link Player} / {@link AI} sans dépendance vers un contrôleur.
  * Vit dans le package persistence pour conserver le modèle libre de Gson.
+ *
+ * <p>Forme écrite : {@code {"_playerRuntimeKind": "ai", "player": {...}}}. Le discriminant vient
+ * en tête, le lecteur connaît donc le type avant le corps et le lie en une passe, sans arbre JSON
+ * intermédiaire. Les sauvegardes antérieures (corps à plat, discriminant en dernier champ) sont
+ * relues par un arbre, comme avant.
  */
 final class PlayerTypeAdapter extends TypeAdapter<Player> {
 
     static final String KIND_FIELD = "_playerRuntimeKind";
+    static final String BODY_FIELD = "player";
 
-    private final Gson vanilla;
+    private final TypeAdapter<Player> humanAdapter;
+    private final TypeAdapter<AI> aiAdapter;
 
     PlayerTypeAdapter() {
-        vanilla = new GsonBuilder().disableHtmlEscaping().create();
+        Gson vanilla = new GsonBuilder()
+            .disableHtmlEscaping()
+            .registerTypeAdapter(Grid.class, new GridTypeAdapter())
+            .create();
+        humanAdapter = vanilla.getAdapter(Player.class);
+        aiAdapter = vanilla.getAdapter(AI.class);
     }
 
     @Override
     public void write(JsonWriter out, Player value) throws IOException {
-        JsonObject tree;
-        if (value instanceof AI) {
-            tree = vanilla.toJsonTree(value, AI.class).getAsJsonObject();
-            tree.addProperty(KIND_FIELD, "ai");
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        if (value instanceof AI ai) {
+            out.name(KIND_FIELD).value("ai");
+            out.name(BODY_FIELD);
+            aiAdapter.write(out, ai);
         } else {
-            tree = vanilla.toJsonTree(value, Player.class).getAsJsonObject();
-            tree.addProperty(KIND_FIELD, "human");
+            out.name(KIND_FIELD).value("human");
+            out.name(BODY_FIELD);
+            humanAdapter.write(out, value);
         }
-        vanilla.toJson((JsonElement) tree, out);
+        out.endObject();
     }
 
     @Override
     public Player read(JsonReader in) throws IOException {
-        JsonElement element = JsonParser.parseReader(in);
-        if (!(element instanceof JsonObject)) {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
             throw new IOException("Format Player JSON invalide");
         }
-        JsonObject object = element.getAsJsonObject().deepCopy();
-        JsonElement kindNode = object.remove(KIND_FIELD);
-        if (kindNode == null) {
-            return vanilla.fromJson(object, Player.class);
+        in.beginObject();
+        String first = in.hasNext() ? in.nextName() : null;
+        if (!KIND_FIELD.equals(first)) {
+            return readLegacyFlat(in, first);
+        }
+        boolean isAi = "ai".equals(in.nextString());
+        Player player = null;
+        while (in.hasNext()) {
+            if (BODY_FIELD.equals(in.nextName())) {
+                player = isAi ? aiAdapter.read(in) : humanAdapter.read(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        if (player == null) {
+            throw new IOException("Format Player JSON invalide : corps absent");
         }
-        String kind = kindNode.getAsString();
-        if ("ai".equals(kind)) {
-            return vanilla.fromJson(object, AI.class);
+        return player;
+    }
+
+    /** Ancienne forme à plat : le discriminant peut suivre le corps, on passe par un arbre. */
+    private Player readLegacyFlat(JsonReader in, String firstName) throws IOException {
+        JsonObject object = new JsonObject();
+        String name = firstName;
+        while (name != null) {
+            object.add(name, JsonParser.parseReader(in));
+            name = in.hasNext() ? in.nextName() : null;
+        }
+        in.endObject();
+        JsonElement kindNode = object.remove(KIND_FIELD);
+        if (kindNode != null && "ai".equals(kindNode.getAsString())) {
+            return aiAdapter.fromJsonTree(object);
         }
-        return vanilla.fromJson(object, Player.class);
+        return humanAdapter.fromJsonTree(object);
     }
 }
@@ -0,0 +1,187 @@
+package com.ehv.battleship.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import com.ehv.battleship.model.Game;
+
+/**
+ * Catalogue en mémoire des fichiers {@code .save}, trié par nom : pagination et recherche par
+ * préfixe sans relister le répertoire à chaque requête.
+ *
+ * <p>Le répertoire n'est parcouru qu'une fois, au premier accès (nom, taille, date seulement).
+ * Ensuite, chaque écriture de {@link GamePersistence} met son entrée à jour avec le résumé de
+ * la partie qu'elle vient de sérialiser. Le résumé des fichiers trouvés au parcours initial est
+ * lu à la demande, pour les seules entrées d'une page servie, puis conservé.
+ *
+ * <p>Thread-safe, sans verrou global : la lecture d'une page ne bloque ni les écritures ni les parties.
+ */
+public final class SaveCatalog {
+
+    private static final String EXTENSION = ".save";
+
+    private final Path directory;
+    private final NavigableMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+    private volatile boolean scanned;
+
+    /** Joueurs, taille de grille et phase d'une sauvegarde. */
+    public record Summary(int players, int boardSize, String phase) {
+        static final Summary UNREADABLE = new Summary(0, 0, "ILLISIBLE");
+
+        static Summary of(Game game) {
+            return new Summary(game.getPlayers().size(), game.getGridSize(), game.getState().name());
+        }
+    }
+
+    /**
+     * @param name nom sans l'extension {@code .save}
+     * @param summary {@code null} tant que le fichier n'a pas été lu
+     */
+    public record Entry(String name, long sizeBytes, long modifiedAtMillis, Summary summary) {}
+
+    /** Une page d'entrées ; {@code hasMore} indique qu'il en reste après {@code offset + items.size()}. */
+    public record Page(List<Entry> items, int offset, boolean hasMore) {}
+
+    public SaveCatalog(Path directory) {
+        this.directory = directory;
+    }
+
+    /** Entrées dont le nom commence par {@code prefix} (toutes si vide), dans l'ordre des noms. */
+    public Page page(String prefix, int offset, int limit) {
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("Pagination invalide : offset >= 0 et limit >= 1 attendus");
+        }
+        ensureScanned();
+        List<Entry> items = new ArrayList<>(Math.min(limit, 256));
+        int skipped = 0;
+        boolean hasMore = false;
+        for (Entry entry : matching(prefix).values()) {
+            if (skipped < offset) {
+                skipped++;
+            } else if (items.size() == limit) {
+                hasMore = true;
+                break;
+            } else {
+                items.add(entry);
+            }
+        }
+        return new Page(describe(items), offset, hasMore);
+    }
+
+    /** Noms seuls, sans lecture des fichiers. */
+    public List<String> names(String prefix, int offset, int limit) {
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("Pagination invalide : offset >= 0 et limit >= 1 attendus");
+        }
+        ensureScanned();
+        return matching(prefix).keySet().stream().skip(offset).limit(limit).toList();
+    }
+
+    /** Appelé une fois {@code path} écrit sur disque. */
+    void recordWrite(Path path, Summary summary) {
+        String name = nameOf(path);
+        if (name == null) {
+            return;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            entries.put(name, new Entry(name, attributes.size(), attributes.lastModifiedTime().toMillis(), summary));
+        } catch (IOException exception) {
+            entries.remove(name);
+        }
+    }
+
+    private NavigableMap<String, Entry> matching(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return entries;
+        }
+        return entries.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private List<Entry> describe(List<Entry> items) {
+        List<Entry> described = new ArrayList<>(items.size());
+        for (Entry entry : items) {
+            if (entry.summary() != null) {
+                described.add(entry);
+                continue;
+            }
+            Entry withSummary = new Entry(entry.name(), entry.sizeBytes(), entry.modifiedAtMillis(), readSummary(entry));
+            if (withSummary.summary() == null) {
+                entries.remove(entry.name(), entry);
+                continue;
+            }
+            // Une écriture concurrente plus récente garde la priorité.
+            entries.replace(entry.name(), entry, withSummary);
+            described.add(withSummary);
+        }
+        return described;
+    }
+
+    /** @return {@code null} si le fichier a disparu depuis le parcours */
+    private Summary readSummary(Entry entry) {
+        try {
+            Game game = GamePersistence.peekSnapshot(directory.resolve(entry.name() + EXTENSION)).getGame();
+            return Summary.of(game);
+        } catch (NoSuchFileException missing) {
+            return null;
+        } catch (IOException | RuntimeException unreadable) {
+            return Summary.UNREADABLE;
+        }
+    }
+
+    private void ensureScanned() {
+        if (scanned) {
+            return;
+        }
+        synchronized (this) {
+            if (scanned) {
+                return;
+            }
+            scan();
+            scanned = true;
+        }
+    }
+
+    private void scan() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.forEach(this::addScanned);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Impossible de lister les sauvegardes", exception);
+        }
+    }
+
+    private void addScanned(Path path) {
+        String name = nameOf(path);
+        if (name == null) {
+            return;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (attributes.isRegularFile()) {
+                // putIfAbsent : une écriture terminée pendant le parcours est plus fraîche.
+                entries.putIfAbsent(name, new Entry(name, attributes.size(), attributes.lastModifiedTime().toMillis(), null));
+            }
+        } catch (IOException vanished) {
+            // Supprimé pendant le parcours.
+        }
+    }
+
+    private static String nameOf(Path path) {
+        String fileName = path.getFileName().toString();
+        if (!fileName.endsWith(EXTENSION) || fileName.length() == EXTENSION.length()) {
+            return null;
+        }
+        return fileName.substring(0, fileName.length() - EXTENSION.length());
+    }
+}
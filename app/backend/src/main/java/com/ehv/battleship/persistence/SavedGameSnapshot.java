@@ -8,15 +8,18 @@ import java.util.Map;
 import java.util.Set;
 
 import com.ehv.battleship.model.Game;
+import com.ehv.battleship.model.GameRandom;
 import com.ehv.battleship.model.Player;
 
 /**
  * Instantané complet d'une partie (modèle + état de session du contrôleur) pour
- * rechargement fidèle. Format versionné (extension {@code .save}, JSON Gson).
+ * rechargement fidèle. Format versionné (extension {@code .save}) : arbre JSON Gson, écrit tel
+ * quel pour l'export ou compressé dans l'enveloppe binaire des fichiers ({@code BinarySnapshotCodec}).
  */
 public final class SavedGameSnapshot {
 
-    public static final int FORMAT_VERSION = 1;
+    /** 2 : joueurs écrits {@code {"_playerRuntimeKind", "player"}} (discriminant en tête) ; 1 relu. */
+    public static final int FORMAT_VERSION = 2;
 
     private int formatVersion;
     private Game game;
@@ -27,6 +30,10 @@ public final class SavedGameSnapshot {
     private Map<String, Integer> lockedTargetByPlayer;
     private List<Integer> placementCompletionOrder;
     private Integer cachedWinner;
+    /** Graine de la partie ; {@code null} dans les sauvegardes antérieures. */
+    private Long seed;
+    /** Position du flux d'aléa de session ; les flux des IA sont sauvegardés avec chaque IA. */
+    private GameRandom random;
 
     /** Pour Gson. */
     SavedGameSnapshot() {
@@ -42,6 +49,21 @@ public final class SavedGameSnapshot {
             Map<Integer, Integer> lockedTargetByPlayer,
             List<Integer> placementCompletionOrder,
             Integer cachedWinner) {
+        this(game, fleetSizes, humanSlots, placementLockedByPlayer, placedShipTypesByPlayer,
+            lockedTargetByPlayer, placementCompletionOrder, cachedWinner, null, null);
+    }
+
+    public SavedGameSnapshot(
+            Game game,
+            List<Integer> fleetSizes,
+            int humanSlots,
+            Map<Integer, Boolean> placementLockedByPlayer,
+            Map<Integer, Set<String>> placedShipTypesByPlayer,
+            Map<Integer, Integer> lockedTargetByPlayer,
+            List<Integer> placementCompletionOrder,
+            Integer cachedWinner,
+            Long seed,
+            GameRandom random) {
         this.formatVersion = FORMAT_VERSION;
         this.game = game;
         this.fleetSizes = new ArrayList<>(fleetSizes);
@@ -53,6 +75,8 @@ public final class SavedGameSnapshot {
             ? List.of()
             : List.copyOf(placementCompletionOrder);
         this.cachedWinner = cachedWinner;
+        this.seed = seed;
+        this.random = random;
     }
 
     public static SavedGameSnapshot fromGameOnly(Game game) {
@@ -119,6 +143,14 @@ public final class SavedGameSnapshot {
         return cachedWinner;
     }
 
+    public Long getSeed() {
+        return seed;
+    }
+
+    public GameRandom getRandom() {
+        return random;
+    }
+
     private static Map<String, Boolean> stringKeyBooleanMap(Map<Integer, Boolean> source) {
         Map<String, Boolean> out = new LinkedHashMap<>();
         if (source == null) return out;
@@ -0,0 +1,8 @@
+package com.ehv.battleship.simulation;
+
+/**
+ * Résultat d'une partie simulée : siège du vainqueur (1-based, 0 si aucun) et nombre total de
+ * tirs joués, tous joueurs confondus.
+ */
+public record GameOutcome(int winnerSeat, int shots) {
+}
@@ -0,0 +1,62 @@
+package com.ehv.battleship.simulation;
+
+import java.util.List;
+
+import com.ehv.battleship.legacy.controller.GameFactories;
+import com.ehv.battleship.model.AI;
+import com.ehv.battleship.model.Game;
+import com.ehv.battleship.model.GameRandom;
+import com.ehv.battleship.model.Player;
+import com.ehv.battleship.model.ShootDecision;
+import com.ehv.battleship.model.ShotResult;
+
+/**
+ * Partie IA contre IA jouée directement sur le modèle, sans contrôleur, Spring ni REST.
+ *
+ * <p>Mêmes règles de tour que {@code BattleOrchestrator} : un tir manqué passe la main, une
+ * touche rejoue sur la même cible (verrouillée à 4 joueurs tant qu'elle n'est pas éliminée).
+ * Aucun état partagé entre parties : plusieurs parties peuvent tourner en parallèle.
+ */
+public final class HeadlessGame {
+
+    private HeadlessGame() {}
+
+    public static GameOutcome play(SimulationSettings settings, long seed) {
+        GameRandom random = new GameRandom(seed);
+        Game game = GameFactories.createAiOnlyGame(
+            settings.gridSize(), settings.fleetShipSizes(), settings.playerCount());
+        for (Player player : game.getPlayers()) {
+            AI ai = (AI) player;
+            ai.setRandom(random.split());
+            ai.placeFleetStandardTypes();
+        }
+        game.start();
+
+        List<Player> players = game.getPlayers();
+        int maxShots = players.size() * settings.gridSize() * settings.gridSize();
+        int shots = 0;
+        Integer lockedTarget = null;
+        while (!game.isFinished()) {
+            if (++shots > maxShots) {
+                throw new IllegalStateException("Partie simulée sans fin (graine " + seed + ")");
+            }
+            int shooterNumber = game.getCurrentPlayerNumber();
+            AI shooter = (AI) game.getCurrentPlayer();
+            ShootDecision decision = lockedTarget != null
+                ? new ShootDecision(lockedTarget, shooter.chooseTargetForDefender(lockedTarget))
+                : shooter.chooseShootingTarget(game, shooterNumber);
+            Player defender = players.get(decision.defenderNumber() - 1);
+            ShotResult result = game.shoot(shooter, defender, decision.coordinate());
+            shooter.handleShotResult(decision.defenderNumber(), decision.coordinate(), result,
+                defender.getSunkShipCoordinatesAt(decision.coordinate()));
+            if (result == ShotResult.MISS) {
+                lockedTarget = null;
+                game.switchTurn();
+            } else {
+                lockedTarget = defender.hasLost() ? null : decision.defenderNumber();
+            }
+        }
+        Player winner = game.getWinner();
+        return new GameOutcome(winner == null ? 0 : players.indexOf(winner) + 1, shots);
+    }
+}
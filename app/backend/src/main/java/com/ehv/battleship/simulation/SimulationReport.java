@@ -0,0 +1,43 @@
+package com.ehv.battleship.simulation;
+
+import java.util.Locale;
+
+/**
+ * Bilan d'une série de parties simulées.
+ *
+ * @param winsBySeat victoires par siège, index 0 = siège 1
+ */
+public record SimulationReport(int games, long elapsedNanos, long totalShots, int[] winsBySeat) {
+
+    public SimulationReport {
+        winsBySeat = winsBySeat.clone();
+    }
+
+    @Override
+    public int[] winsBySeat() {
+        return winsBySeat.clone();
+    }
+
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : games * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public double shotsPerGame() {
+        return (double) totalShots / games;
+    }
+
+    /** Part des parties gagnées par le siège {@code seat} (1-based). */
+    public double winRate(int seat) {
+        return (double) winsBySeat[seat - 1] / games;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rates = new StringBuilder();
+        for (int seat = 1; seat <= winsBySeat.length; seat++) {
+            rates.append(String.format(Locale.ROOT, " J%d=%.1f%%", seat, winRate(seat) * 100));
+        }
+        return String.format(Locale.ROOT, "%d parties en %.2f s : %.1f parties/s, %.1f tirs/partie, victoires%s",
+            games, elapsedNanos / 1e9, gamesPerSecond(), shotsPerGame(), rates);
+    }
+}
@@ -0,0 +1,103 @@
+package com.ehv.battleship.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Joue une série de parties {@link HeadlessGame} en parallèle sur un {@link ForkJoinPool}.
+ *
+ * <p>La plage de parties est découpée récursivement ; chaque feuille joue ses parties et renvoie
+ * un décompte local, fusionné à la remontée (aucun compteur partagé entre threads). Les parties
+ * étant indépendantes, le débit croît avec le nombre de cœurs.
+ *
+ * <p>Ligne de commande : {@code SimulationRunner [parties] [taille] [joueurs] [graine] [threads]}.
+ */
+public final class SimulationRunner {
+
+    /** Parties jouées séquentiellement par une feuille de la découpe. */
+    private static final int GAMES_PER_LEAF = 8;
+
+    private SimulationRunner() {}
+
+    public static SimulationReport run(SimulationSettings settings) {
+        return run(settings, ForkJoinPool.commonPool());
+    }
+
+    public static SimulationReport run(SimulationSettings settings, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        Tally tally = pool.invoke(new BatchTask(settings, 0, settings.games()));
+        long elapsed = System.nanoTime() - start;
+        return new SimulationReport(settings.games(), elapsed, tally.shots, tally.winsBySeat);
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int gridSize = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        SimulationSettings settings =
+            new SimulationSettings(gridSize, SimulationSettings.DEFAULT_FLEET, players, games, seed);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            System.out.println(run(settings, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static final class Tally {
+        private long shots;
+        private final int[] winsBySeat;
+
+        private Tally(int playerCount) {
+            this.winsBySeat = new int[playerCount];
+        }
+
+        private void record(GameOutcome outcome) {
+            shots += outcome.shots();
+            if (outcome.winnerSeat() > 0) {
+                winsBySeat[outcome.winnerSeat() - 1]++;
+            }
+        }
+
+        private Tally merge(Tally other) {
+            shots += other.shots;
+            for (int seat = 0; seat < winsBySeat.length; seat++) {
+                winsBySeat[seat] += other.winsBySeat[seat];
+            }
+            return this;
+        }
+    }
+
+    private static final class BatchTask extends RecursiveTask<Tally> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient SimulationSettings settings;
+        private final int from;
+        private final int to;
+
+        private BatchTask(SimulationSettings settings, int from, int to) {
+            this.settings = settings;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= GAMES_PER_LEAF) {
+                Tally tally = new Tally(settings.playerCount());
+                for (int gameIndex = from; gameIndex < to; gameIndex++) {
+                    tally.record(HeadlessGame.play(settings, settings.seedFor(gameIndex)));
+                }
+                return tally;
+            }
+            int middle = (from + to) >>> 1;
+            BatchTask left = new BatchTask(settings, from, middle);
+            left.fork();
+            Tally right = new BatchTask(settings, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ehv.battleship.simulation;
+
+import java.util.List;
+
+/**
+ * Paramètres d'une série de parties IA contre IA. La partie {@code i} est jouée avec la graine
+ * {@link #seedFor(int)} : une série relancée avec la même graine de base rejoue exactement les
+ * mêmes parties, quel que soit le nombre de threads.
+ */
+public record SimulationSettings(int gridSize, List<Integer> fleetShipSizes, int playerCount, int games, long baseSeed) {
+
+    public static final List<Integer> DEFAULT_FLEET = List.of(5, 4, 3, 3, 2);
+
+    public SimulationSettings {
+        if (fleetShipSizes == null || fleetShipSizes.isEmpty()) {
+            throw new IllegalArgumentException("La flotte ne peut pas être vide");
+        }
+        if (playerCount != 2 && playerCount != 4) {
+            throw new IllegalArgumentException("Le nombre de joueurs doit être 2 ou 4.");
+        }
+        if (games < 1) {
+            throw new IllegalArgumentException("Il faut au moins une partie");
+        }
+        fleetShipSizes = List.copyOf(fleetShipSizes);
+    }
+
+    /** Graine de la partie {@code gameIndex} (brassage SplitMix64 : graines voisines décorrélées). */
+    public long seedFor(int gameIndex) {
+        long z = baseSeed + (gameIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -140,7 +140,7 @@ public class ConsoleMain {
                 int defenderNum = controller.getPlayers().indexOf(target) + 1;
                 Coordinate aiCoord = ai.chooseTargetForDefender(defenderNum);
                 ShotResult aiResult = controller.playShot(target, aiCoord.getX(), aiCoord.getY());
-                ai.handleShotResult(defenderNum, aiCoord, aiResult);
+                ai.handleShotResult(defenderNum, aiCoord, aiResult, target.getSunkShipCoordinatesAt(aiCoord));
                 System.out.println("\n--- Tour de " + current.getName() + " ---");
                 System.out.println("Cible choisie : " + target.getName());
                 System.out.println(current.getName() + " tire en (" + (aiCoord.getX() + 1) + ", " + (aiCoord.getY() + 1) + ") : " + aiResult);
@@ -3,7 +3,6 @@ package com.ehv.battleship.view;
 import java.util.List;
 
 import com.ehv.battleship.model.CellStatus;
-import com.ehv.battleship.model.Coordinate;
 import com.ehv.battleship.model.Game;
 import com.ehv.battleship.model.Grid;
 import com.ehv.battleship.model.Player;
@@ -35,7 +34,7 @@ public class ConsoleRenderer {
                 sb.append(rowDisplay).append(" | ");
             }
             for (int x = 0; x < size; x++) {
-                CellStatus status = grid.getCell(new Coordinate(x, y));
+                CellStatus status = grid.getCell(x, y);
                 char symbol;
                 if (status == CellStatus.HIT) {
                     symbol = 'X';
@@ -130,8 +129,7 @@ public class ConsoleRenderer {
             }
 
             for (int x = 0; x < size; x++) {
-                Coordinate coord = new Coordinate(x, y);
-                CellStatus status = grid.getCell(coord);
+                CellStatus status = grid.getCell(x, y);
                 char symbol;
 
                 switch (status) {
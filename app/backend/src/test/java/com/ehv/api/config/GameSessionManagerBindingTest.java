@@ -0,0 +1,66 @@
+package com.ehv.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+class GameSessionManagerBindingTest {
+
+    private final GameSessionManager manager = new GameSessionManager();
+    private final WebSocketSession host = socket("host");
+    private final WebSocketSession guest = socket("guest");
+
+    @Test
+    void shouldResolveLobbyAndSeatOfABoundSocket() {
+        String gameId = manager.createGame(2, host).getGameId();
+        manager.joinGame(gameId, guest, null);
+
+        assertEquals(gameId, manager.getGameIdForSession(guest));
+        assertEquals(2, manager.getPlayerNumber(guest));
+        assertEquals(2, manager.getGame(gameId).getPlayerNumber(guest));
+
+        assertEquals(new GameSessionManager.LeaveResult(gameId, 2), manager.leaveGame(guest));
+        assertNull(manager.getGameIdForSession(guest));
+        assertNull(manager.getPlayerNumber(guest));
+        assertEquals(-1, manager.getGame(gameId).getPlayerNumber(guest));
+        assertNull(manager.leaveGame(guest));
+    }
+
+    @Test
+    void shouldFreeTheSeatOfThePreviousLobbyOnJoin() {
+        String first = manager.createGame(2, host).getGameId();
+        manager.joinGame(first, guest, null);
+        String second = manager.createGame(2, socket("other-host")).getGameId();
+
+        manager.joinGame(second, guest, null);
+
+        assertEquals(1, manager.getGame(first).getPlayerCount());
+        assertEquals(second, manager.getGameIdForSession(guest));
+        assertEquals(2, manager.getPlayerNumber(guest));
+    }
+
+    @Test
+    void shouldForgetSocketsAndConfigOfAnEvictedLobby() {
+        String gameId = manager.createGame(4, host).getGameId();
+        manager.joinGame(gameId, guest, null);
+        assertEquals(4, manager.getLobbyConfigSnapshot(gameId).playerCount());
+
+        manager.evictLobby(gameId);
+
+        assertNull(manager.getGame(gameId));
+        assertNull(manager.getLobbyConfigSnapshot(gameId));
+        assertNull(manager.getGameIdForSession(host));
+        assertNull(manager.getPlayerNumber(guest));
+    }
+
+    private static WebSocketSession socket(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
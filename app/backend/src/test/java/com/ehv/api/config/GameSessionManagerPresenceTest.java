@@ -0,0 +1,73 @@
+package com.ehv.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+class GameSessionManagerPresenceTest {
+
+    private final GameSessionManager manager = new GameSessionManager();
+    private final WebSocketSession host = socket("host");
+    private final WebSocketSession guest = socket("guest");
+
+    private String lobbyWithTwoPlayers() {
+        String gameId = manager.createGame(2, host).getGameId();
+        manager.joinGame(gameId, guest, null);
+        return gameId;
+    }
+
+    @Test
+    void shouldAnnounceThenForfeitAtTheirDeadlines() {
+        String gameId = lobbyWithTwoPlayers();
+        long disconnectedAt = System.currentTimeMillis();
+        manager.leaveGame(guest);
+
+        long announceAt = disconnectedAt + manager.getDisconnectThresholdMs() + 1000;
+        assertTrue(manager.collectPresenceEvents(disconnectedAt - 1).isEmpty());
+        List<GameSessionManager.PresenceEvent> announced = manager.collectPresenceEvents(announceAt);
+        assertEquals(1, announced.size());
+        assertEquals("PLAYER_DISCONNECTED", announced.get(0).type());
+        assertEquals(gameId, announced.get(0).gameId());
+        assertTrue(manager.collectPresenceEvents(announceAt).isEmpty());
+
+        List<GameSessionManager.PresenceEvent> forfeit =
+            manager.collectPresenceEvents(announceAt + manager.getForfeitGraceMs());
+        assertEquals(List.of(GameSessionManager.PresenceEvent.forfeited(gameId, 2)), forfeit);
+    }
+
+    @Test
+    void shouldDropDeadlinesOfAReclaimedSeat() {
+        String gameId = lobbyWithTwoPlayers();
+        manager.leaveGame(guest);
+        manager.joinGame(gameId, socket("guest-again"), 2);
+
+        long later = System.currentTimeMillis() + manager.getForfeitGraceMs() + manager.getDisconnectThresholdMs();
+        assertTrue(manager.collectPresenceEvents(later).isEmpty());
+    }
+
+    @Test
+    void shouldEvictLobbyOnlyOnceEmptyForTheIdleDelay() {
+        String gameId = lobbyWithTwoPlayers();
+        long now = System.currentTimeMillis();
+        assertTrue(manager.collectIdleLobbyIds(now + manager.getLobbyIdleEvictionMs() * 2).isEmpty());
+
+        manager.leaveGame(guest);
+        manager.leaveGame(host);
+        long emptySince = System.currentTimeMillis();
+        assertTrue(manager.collectIdleLobbyIds(emptySince + manager.getLobbyIdleEvictionMs() - 1000).isEmpty());
+        assertEquals(List.of(gameId), manager.collectIdleLobbyIds(emptySince + manager.getLobbyIdleEvictionMs() + 1000));
+    }
+
+    private static WebSocketSession socket(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
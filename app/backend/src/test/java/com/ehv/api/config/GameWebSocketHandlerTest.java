@@ -0,0 +1,92 @@
+package com.ehv.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.JsonParser;
+
+import com.ehv.api.dto.ConfirmPlacementRequest;
+import com.ehv.api.dto.FireRequest;
+import com.ehv.api.dto.PlaceShipRequest;
+import com.ehv.api.dto.ResetGameRequest;
+import com.ehv.api.security.LobbyJwtService;
+import com.ehv.api.service.LobbyGameRegistry;
+import com.ehv.api.session.GameSession;
+import com.ehv.api.view.ActionResponse;
+
+class GameWebSocketHandlerTest {
+
+    private final GameSessionManager sessionManager = new GameSessionManager();
+    private final LobbyGameRegistry registry = new LobbyGameRegistry();
+    private final RecordingOutbox outbox = new RecordingOutbox(sessionManager);
+    private final GameWebSocketHandler handler = new GameWebSocketHandler(
+        sessionManager, registry, new LobbyJwtService("0123456789abcdef0123456789abcdef"), outbox, new ObjectMapper());
+
+    @Test
+    void shouldSerializeEachShotEventOnceForAllRecipients() {
+        String gameId = sessionManager.createGame(4, socket("p1")).getGameId();
+        for (String id : List.of("p2", "p3", "p4")) {
+            sessionManager.joinGame(gameId, socket(id), null);
+        }
+        GameSession game = registry.forLobbyOrLocal(gameId);
+        game.reset(new ResetGameRequest(8, List.of(2), 4, false, 4, gameId));
+        for (int player = 1; player <= 4; player++) {
+            game.placeShip(new PlaceShipRequest(player, "SHIP_0", 0, 0, "HORIZONTAL", gameId));
+            game.confirmPlacement(new ConfirmPlacementRequest(player, gameId));
+        }
+        ActionResponse shot = game.fireAt(new FireRequest(1, 5, 5, 2, gameId));
+
+        handler.notifyGameplayAction(gameId, shot);
+
+        Map<String, List<TextMessage>> byType = new LinkedHashMap<>();
+        Map<String, List<String>> recipientsByType = new LinkedHashMap<>();
+        for (Sent sent : outbox.sent) {
+            String type = JsonParser.parseString(sent.message().getPayload()).getAsJsonObject().get("type").getAsString();
+            byType.computeIfAbsent(type, key -> new ArrayList<>()).add(sent.message());
+            recipientsByType.computeIfAbsent(type, key -> new ArrayList<>()).add(sent.sessionId());
+        }
+        assertEquals(List.of("TARGET_LOCKED", "SHOT_RESOLVED", "PEER_SHOT", "TURN_PHASE_CHANGED"), List.copyOf(byType.keySet()));
+        assertEquals(List.of("p1", "p2"), recipientsByType.get("SHOT_RESOLVED"));
+        assertEquals(List.of("p1", "p2", "p3", "p4"), recipientsByType.get("PEER_SHOT"));
+        for (List<TextMessage> messages : byType.values()) {
+            for (TextMessage message : messages) {
+                assertSame(messages.get(0), message);
+            }
+        }
+    }
+
+    private static WebSocketSession socket(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private record Sent(String sessionId, TextMessage message) {}
+
+    private static final class RecordingOutbox extends SocketOutbox {
+        private final List<Sent> sent = new ArrayList<>();
+
+        RecordingOutbox(GameSessionManager sessionManager) {
+            super(sessionManager, Integer.MAX_VALUE, Long.MAX_VALUE);
+        }
+
+        @Override
+        public boolean send(WebSocketSession session, TextMessage message) {
+            sent.add(new Sent(session.getId(), message));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.ehv.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import com.ehv.api.dto.ResetGameRequest;
+import com.ehv.api.service.LobbyGameRegistry;
+import com.ehv.api.view.ActionResult;
+
+class GameplaySocketChannelTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GameSessionManager sessionManager = new GameSessionManager();
+    private final LobbyGameRegistry registry = new LobbyGameRegistry();
+    private final GameplaySocketChannel channel =
+        new GameplaySocketChannel(sessionManager, registry, new InlineOutbox(sessionManager), objectMapper);
+
+    private final List<String> hostInbox = new ArrayList<>();
+    private final List<String> guestInbox = new ArrayList<>();
+    private final WebSocketSession host = socket("host", hostInbox);
+    private final WebSocketSession guest = socket("guest", guestInbox);
+
+    private String startLobbyGame() {
+        String gameId = sessionManager.createGame(2, host).getGameId();
+        sessionManager.joinGame(gameId, guest, null);
+        registry.forLobbyOrLocal(gameId).reset(new ResetGameRequest(8, List.of(2), 2, false, 2, gameId));
+        return gameId;
+    }
+
+    @Test
+    void shouldPushFullSnapshotThenOnlyChangedCells() throws Exception {
+        String gameId = startLobbyGame();
+        channel.pushStateDeltas(gameId);
+        JsonNode first = lastDelta(hostInbox);
+        assertTrue(first.get("fullSnapshot").asBoolean());
+
+        channel.apply(host, "PLACE_SHIP", message("{\"shipType\":\"SHIP_0\",\"x\":3,\"y\":4,\"orientation\":\"HORIZONTAL\"}"));
+        channel.pushStateDeltas(gameId);
+
+        JsonNode hostDelta = lastDelta(hostInbox);
+        assertFalse(hostDelta.get("fullSnapshot").asBoolean());
+        assertEquals(first.get("version").asLong(), hostDelta.get("sinceVersion").asLong());
+        assertEquals(2, hostDelta.get("changes").size());
+
+        JsonNode guestDelta = lastDelta(guestInbox);
+        assertFalse(guestDelta.get("fullSnapshot").asBoolean());
+        assertEquals(0, guestDelta.get("changes").size());
+    }
+
+    @Test
+    void shouldNotPushWhenNothingChanged() throws Exception {
+        String gameId = startLobbyGame();
+        channel.pushStateDeltas(gameId);
+        channel.pushStateDeltas(gameId);
+        assertEquals(1, hostInbox.size());
+    }
+
+    @Test
+    void shouldPlayForTheSeatBoundToTheSocket() {
+        startLobbyGame();
+        channel.apply(host, "PLACE_SHIP", message("{\"shipType\":\"SHIP_0\",\"x\":0,\"y\":0,\"orientation\":\"HORIZONTAL\"}"));
+        assertEquals(ActionResult.CONFIRMED, channel.apply(host, "CONFIRM_PLACEMENT", message("{\"player\":2}")).result());
+        assertThrows(IllegalArgumentException.class, () -> channel.apply(guest, "AI_STEP", message("{}")));
+    }
+
+    @Test
+    void shouldRejectMalformedFieldsAsInvalidArguments() {
+        startLobbyGame();
+        assertThrows(IllegalArgumentException.class,
+            () -> channel.apply(host, "PLACE_SHIP", message("{\"shipType\":{},\"x\":0,\"y\":0}")));
+        assertThrows(IllegalArgumentException.class, () -> channel.sync(host, message("{\"since\":[]}")));
+        assertThrows(IllegalArgumentException.class, () -> channel.sync(host, message("{\"since\":\"abc\"}")));
+    }
+
+    @Test
+    void shouldResendFromVersionRequestedBySyncState() throws Exception {
+        String gameId = startLobbyGame();
+        channel.pushStateDeltas(gameId);
+        long version = lastDelta(hostInbox).get("version").asLong();
+
+        channel.sync(host, message("{\"since\":" + version + "}"));
+        assertEquals(1, hostInbox.size());
+
+        channel.sync(host, message("{}"));
+        assertTrue(lastDelta(hostInbox).get("fullSnapshot").asBoolean());
+    }
+
+    private JsonNode lastDelta(List<String> inbox) throws Exception {
+        JsonNode message = objectMapper.readTree(inbox.get(inbox.size() - 1));
+        assertEquals("STATE_DELTA", message.get("type").asText());
+        return message.get("delta");
+    }
+
+    private static JsonObject message(String json) {
+        return JsonParser.parseString(json).getAsJsonObject();
+    }
+
+    /** Écrit sur la socket dans le thread appelant : les messages sont lisibles dès le retour. */
+    private static final class InlineOutbox extends SocketOutbox {
+        InlineOutbox(GameSessionManager sessionManager) {
+            super(sessionManager, Integer.MAX_VALUE, Long.MAX_VALUE);
+        }
+
+        @Override
+        public boolean send(WebSocketSession session, CharSequence payload) {
+            try {
+                session.sendMessage(new TextMessage(payload));
+                return true;
+            } catch (IOException exception) {
+                return false;
+            }
+        }
+    }
+
+    private static WebSocketSession socket(String id, List<String> inbox) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+        try {
+            doAnswer(invocation -> inbox.add(((TextMessage) invocation.getArgument(0)).getPayload()))
+                .when(session).sendMessage(any());
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+        return session;
+    }
+}
@@ -0,0 +1,102 @@
+package com.ehv.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+class SocketOutboxTest {
+
+    private final SocketOutbox outbox = new SocketOutbox(new GameSessionManager(), 10, 60_000);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        outbox.shutdown();
+    }
+
+    @Test
+    void shouldDeliverInOrderOffTheCallerThread() throws Exception {
+        List<String> received = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        WebSocketSession session = socket("fast");
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return received.add(((TextMessage) invocation.getArgument(0)).getPayload());
+        }).when(session).sendMessage(any());
+
+        for (String payload : List.of("a", "b", "c")) {
+            assertTrue(outbox.send(session, payload));
+        }
+
+        verify(session, timeout(2000).times(3)).sendMessage(any());
+        assertEquals(List.of("a", "b", "c"), received);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("ws-outbound-")));
+    }
+
+    @Test
+    void shouldDropStalledSocketWithoutBlockingCaller() throws Exception {
+        WebSocketSession session = socket("slow");
+        doAnswer(invocation -> unblock.await(5, TimeUnit.SECONDS)).when(session).sendMessage(any());
+
+        long start = System.nanoTime();
+        assertTrue(outbox.send(session, "12345"));
+        assertTrue(outbox.send(session, "12345"));
+        assertFalse(outbox.send(session, "12345678901"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+
+        verify(session, timeout(2000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(1, outbox.stats().terminatedSessions());
+        assertEquals(0, outbox.stats().sockets());
+    }
+
+    @Test
+    void shouldExpireSocketStalledWithoutFurtherTraffic() throws Exception {
+        SocketOutbox strict = new SocketOutbox(new GameSessionManager(), 1_000, 500);
+        try {
+            WebSocketSession session = socket("stalled");
+            doAnswer(invocation -> unblock.await(5, TimeUnit.SECONDS)).when(session).sendMessage(any());
+            assertTrue(strict.send(session, "12345"));
+            verify(session, timeout(2000)).sendMessage(any());
+            assertEquals(0, strict.expireStalled());
+
+            Thread.sleep(600);
+
+            assertEquals(1, strict.expireStalled());
+            verify(session, timeout(2000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+            assertFalse(strict.send(session, "12345"));
+            assertEquals(0, strict.stats().sockets());
+
+            strict.discard(session);
+            assertTrue(strict.send(session, "12345"));
+        } finally {
+            unblock.countDown();
+            strict.shutdown();
+        }
+    }
+
+    private static WebSocketSession socket(String id) throws IOException {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ehv.api.presentation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ehv.api.view.CellViewState;
+
+class BoardRunLengthTest {
+
+    private static final CellViewState E = CellViewState.EMPTY;
+    private static final CellViewState S = CellViewState.SHIP;
+
+    @Test
+    void shouldEncodeRunsAcrossRows() {
+        List<List<CellViewState>> cells = List.of(
+            List.of(S, S, E),
+            List.of(E, CellViewState.MISS, CellViewState.HIT),
+            List.of(CellViewState.SUNK, E, E));
+        assertEquals("S2E2MHKE2", BoardRunLength.encode(cells));
+    }
+
+    @Test
+    void shouldShrinkLargeEmptyBoard() {
+        List<CellViewState> row = Collections.nCopies(20, E);
+        assertEquals("E400", BoardRunLength.encode(Collections.nCopies(20, row)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.ehv.api.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ehv.api.dto.ConfirmPlacementRequest;
+import com.ehv.api.dto.FireRequest;
+import com.ehv.api.dto.PlaceShipRequest;
+import com.ehv.api.dto.ResetGameRequest;
+import com.ehv.api.view.CellChangeView;
+import com.ehv.api.view.CellViewState;
+import com.ehv.api.view.GameStateDeltaResponse;
+
+class GameSessionDeltaTest {
+
+    private static GameSession twoHumanSession() {
+        GameSession session = new GameSession();
+        session.reset(new ResetGameRequest(8, List.of(2), 2, false, 2, null));
+        return session;
+    }
+
+    @Test
+    void shouldSendFullSnapshotToUnknownClient() {
+        GameSession session = twoHumanSession();
+        GameStateDeltaResponse delta = session.getStateDeltaForPlayer(1, 0);
+        assertTrue(delta.fullSnapshot());
+        assertEquals(8, delta.state().boards().get(0).cells().size());
+    }
+
+    @Test
+    void shouldHideOpponentPlacementFromDelta() {
+        GameSession session = twoHumanSession();
+        long version = session.getStateDeltaForPlayer(1, 0).version();
+
+        session.placeShip(new PlaceShipRequest(2, "SHIP_0", 3, 4, "HORIZONTAL", null));
+
+        GameStateDeltaResponse viewer1 = session.getStateDeltaForPlayer(1, version);
+        assertFalse(viewer1.fullSnapshot());
+        assertTrue(viewer1.version() > version);
+        assertTrue(viewer1.changes().isEmpty());
+        assertTrue(viewer1.state().boards().get(1).cells().isEmpty());
+
+        GameStateDeltaResponse viewer2 = session.getStateDeltaForPlayer(2, version);
+        assertEquals(List.of(
+                new CellChangeView("B1", 3, 4, CellViewState.SHIP),
+                new CellChangeView("B1", 4, 4, CellViewState.SHIP)),
+            viewer2.changes());
+    }
+
+    @Test
+    void shouldSendOnlyShotCellDuringBattle() {
+        GameSession session = twoHumanSession();
+        session.placeShip(new PlaceShipRequest(1, "SHIP_0", 0, 0, "HORIZONTAL", null));
+        session.confirmPlacement(new ConfirmPlacementRequest(1, null));
+        session.placeShip(new PlaceShipRequest(2, "SHIP_0", 0, 0, "HORIZONTAL", null));
+        session.confirmPlacement(new ConfirmPlacementRequest(2, null));
+        long version = session.getStateDeltaForPlayer(2, 0).version();
+
+        session.fireAt(new FireRequest(1, 0, 0, 2, null));
+
+        GameStateDeltaResponse delta = session.getStateDeltaForPlayer(2, version);
+        assertFalse(delta.fullSnapshot());
+        assertEquals(List.of(new CellChangeView("B1", 0, 0, CellViewState.HIT)), delta.changes());
+        assertEquals(1, delta.state().currentPlayer());
+    }
+
+    @Test
+    void shouldFallBackToFullSnapshotAfterReset() {
+        GameSession session = twoHumanSession();
+        long version = session.getStateDeltaForPlayer(1, 0).version();
+
+        session.reset(new ResetGameRequest(10, List.of(3), 2, false, 2, null));
+
+        GameStateDeltaResponse delta = session.getStateDeltaForPlayer(1, version);
+        assertTrue(delta.fullSnapshot());
+        assertEquals(10, delta.state().boardSize());
+    }
+}
@@ -0,0 +1,69 @@
+package com.ehv.api.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ehv.api.dto.ConfirmPlacementRequest;
+import com.ehv.api.dto.FireRequest;
+import com.ehv.api.dto.PlaceShipRequest;
+import com.ehv.api.dto.ResetGameRequest;
+import com.ehv.battleship.persistence.GameJournal;
+
+class GameSessionJournalTest {
+
+    @TempDir
+    Path journalDirectory;
+
+    @Test
+    void shouldResumeAJournaledGameAfterRestart() throws IOException {
+        GameSession before = new GameSession(GameJournal.open(journalDirectory, "ABC123"));
+        before.reset(new ResetGameRequest(8, List.of(3, 2), 2, true, 1, "ABC123"));
+        before.placeShip(new PlaceShipRequest(1, "SHIP_0", 0, 0, "HORIZONTAL", "ABC123"));
+        before.placeShip(new PlaceShipRequest(1, "SHIP_1", 0, 2, "VERTICAL", "ABC123"));
+        before.confirmPlacement(new ConfirmPlacementRequest(1, "ABC123"));
+        for (int shot = 0; shot < 3; shot++) {
+            before.fireAt(new FireRequest(1, shot, 7, 2, "ABC123"));
+            before.advanceAiSingleStepAndGetAction();
+        }
+
+        GameSession after = new GameSession(GameJournal.open(journalDirectory, "ABC123"));
+
+        assertEquals(before.getStateForPlayer(1), after.getStateForPlayer(1));
+        assertEquals(before.getStateForPlayer(2), after.getStateForPlayer(2));
+        assertNotEquals(new GameSession().getStateForPlayer(1), after.getStateForPlayer(1));
+    }
+
+    @Test
+    void shouldResumeWhatAFailedAutoPlacementAlreadyChanged() throws IOException {
+        GameSession before = new GameSession(GameJournal.open(journalDirectory, "ABC123"));
+        before.reset(new ResetGameRequest(5, List.of(5, 5, 5, 5, 4, 1), 2, false, 2, "ABC123"));
+        before.placeShip(new PlaceShipRequest(2, "SHIP_0", 0, 0, "HORIZONTAL", "ABC123"));
+        before.placeShip(new PlaceShipRequest(2, "SHIP_5", 2, 2, "HORIZONTAL", "ABC123"));
+        assertThrows(IllegalStateException.class, before::autoPlaceFleet);
+
+        GameSession after = new GameSession(GameJournal.open(journalDirectory, "ABC123"));
+
+        assertEquals(before.getStateForPlayer(1), after.getStateForPlayer(1));
+        assertEquals(before.getStateForPlayer(2), after.getStateForPlayer(2));
+    }
+
+    @Test
+    void shouldStartFreshOnceTheJournalIsDiscarded() throws IOException {
+        GameSession before = new GameSession(GameJournal.open(journalDirectory, "ABC123"));
+        before.reset(new ResetGameRequest(6, List.of(2), 2, false, 2, "ABC123"));
+        before.placeShip(new PlaceShipRequest(1, "SHIP_0", 0, 0, "HORIZONTAL", "ABC123"));
+        before.discardJournal();
+
+        GameSession after = new GameSession(GameJournal.open(journalDirectory, "ABC123"));
+
+        assertEquals(new GameSession().getStateForPlayer(1), after.getStateForPlayer(1));
+    }
+}
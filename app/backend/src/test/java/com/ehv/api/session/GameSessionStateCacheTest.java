@@ -0,0 +1,126 @@
+package com.ehv.api.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.ehv.api.dto.PlaceShipRequest;
+import com.ehv.api.dto.ResetGameRequest;
+import com.ehv.api.view.BoardEncoding;
+import com.ehv.api.view.CellViewState;
+import com.ehv.api.view.GameStateResponse;
+
+class GameSessionStateCacheTest {
+
+    private static GameSession twoHumanSession() {
+        GameSession session = new GameSession();
+        session.reset(new ResetGameRequest(8, List.of(2), 2, false, 2, null));
+        return session;
+    }
+
+    @Test
+    void shouldReuseProjectionUntilStateChanges() {
+        GameSession session = twoHumanSession();
+        GameStateResponse first = session.getStateForPlayer(1);
+        assertSame(first, session.getStateForPlayer(1));
+        assertNotSame(first, session.getStateForPlayer(2));
+
+        session.placeShip(new PlaceShipRequest(1, "SHIP_0", 0, 0, "HORIZONTAL", null));
+
+        GameStateResponse after = session.getStateForPlayer(1);
+        assertNotSame(first, after);
+        assertEquals(CellViewState.SHIP, after.boards().get(0).cells().get(0).get(0));
+    }
+
+    @Test
+    void shouldPublishWhatAFailedAutoPlacementAlreadyChanged() {
+        GameSession session = new GameSession();
+        session.reset(new ResetGameRequest(5, List.of(5, 5, 5, 5, 4, 1), 2, false, 2, null));
+        // Joueur 2 : plus aucune disposition possible ; le joueur 1 est placé et verrouillé avant l'échec.
+        session.placeShip(new PlaceShipRequest(2, "SHIP_0", 0, 0, "HORIZONTAL", null));
+        session.placeShip(new PlaceShipRequest(2, "SHIP_5", 2, 2, "HORIZONTAL", null));
+        GameStateResponse before = session.getStateForPlayer(1);
+
+        assertThrows(IllegalStateException.class, session::autoPlaceFleet);
+
+        GameStateResponse after = session.getStateForPlayer(1);
+        assertNotSame(before, after);
+        assertEquals(CellViewState.SHIP, after.boards().get(0).cells().get(0).get(0));
+    }
+
+    @Test
+    void shouldEncodeUnchangedStateOnlyOnce() {
+        GameSession session = twoHumanSession();
+        AtomicInteger encodings = new AtomicInteger();
+
+        byte[] first = session.getStateJsonForPlayer(1, BoardEncoding.CELLS, state -> {
+            encodings.incrementAndGet();
+            return String.valueOf(state.currentPlayer()).getBytes(StandardCharsets.UTF_8);
+        });
+        byte[] second = session.getStateJsonForPlayer(1, BoardEncoding.CELLS, state -> {
+            encodings.incrementAndGet();
+            return new byte[0];
+        });
+
+        assertSame(first, second);
+        assertEquals(1, encodings.get());
+    }
+
+    @Test
+    void shouldCacheEachBoardEncodingSeparately() {
+        GameSession session = twoHumanSession();
+        List<GameStateResponse> encoded = new ArrayList<>();
+
+        session.getStateJsonForPlayer(1, BoardEncoding.CELLS, state -> {
+            encoded.add(state);
+            return new byte[0];
+        });
+        session.getStateJsonForPlayer(1, BoardEncoding.RLE, state -> {
+            encoded.add(state);
+            return new byte[0];
+        });
+
+        assertEquals(2, encoded.size());
+        assertNull(encoded.get(0).boards().get(0).cellsRle());
+        assertNull(encoded.get(1).boards().get(0).cells());
+        assertEquals("E64", encoded.get(1).boards().get(0).cellsRle());
+    }
+
+    @Test
+    void shouldServePublishedStateWhileAWriterHoldsTheSession() throws InterruptedException {
+        GameSession session = twoHumanSession();
+        GameStateResponse published = session.getStateForPlayer(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            synchronized (session) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        writer.start();
+        writing.await();
+        try {
+            assertSame(published, assertTimeoutPreemptively(Duration.ofSeconds(2), () -> session.getStateForPlayer(1)));
+        } finally {
+            release.countDown();
+            writer.join();
+        }
+    }
+}
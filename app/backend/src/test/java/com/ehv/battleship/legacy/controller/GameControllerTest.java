@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -177,4 +178,78 @@ class GameControllerTest {
         // Après un MISS, le tour passe au joueur 2.
         assertEquals(2, controller.getCurrentPlayerNumber());
     }
+
+    @Test
+    void shouldReplaySameGameFromSameSeed() {
+        assertEquals(playToEnd(seededFourPlayerGame(42L), new int[5]),
+            playToEnd(seededFourPlayerGame(42L), new int[5]));
+    }
+
+    @Test
+    void shouldReplaySameFutureAfterSaveAndReload() {
+        GameController original = seededFourPlayerGame(7L);
+        int[] cursors = new int[5];
+        playSteps(original, cursors, 40, new ArrayList<>());
+        String json = original.exportSnapshotJson();
+        int[] reloadedCursors = cursors.clone();
+
+        GameController reloaded = new GameController();
+        reloaded.loadFromSnapshotJson(json);
+
+        assertEquals(7L, reloaded.getSeed());
+        assertEquals(playToEnd(original, cursors), playToEnd(reloaded, reloadedCursors));
+    }
+
+    private static GameController seededFourPlayerGame(long seed) {
+        GameController controller = new GameController();
+        controller.reset(8, List.of(3, 2, 2), 4, true, 1, seed);
+        controller.autoPlaceFleetForAllPlayers();
+        return controller;
+    }
+
+    @Test
+    void shouldCompleteDenseHumanFleetAroundHandPlacedShipsOnly() {
+        // 25 cases sur 25 : le tirage aléatoire tombe souvent en impasse, une solution existe toujours.
+        List<Integer> denseFleet = List.of(5, 4, 4, 4, 4, 3, 1);
+        for (long seed = 0; seed < 40; seed++) {
+            GameController controller = new GameController();
+            controller.reset(5, denseFleet, 2, false, 2, seed);
+            controller.placeShipForPlayer(1, "SHIP_0", 0, 0, "HORIZONTAL");
+
+            controller.autoPlaceFleetForAllPlayers();
+
+            assertEquals(GameState.PLAYING, controller.getGameState(), "graine " + seed);
+            assertEquals(0, controller.getPlayerByNumber(1).getFleet().getShips().stream()
+                .filter(ship -> "SHIP_0".equals(ship.getName()))
+                .findFirst().orElseThrow().getCoordinates().get(0).getY());
+        }
+    }
+
+    private static List<ShotOutcome> playToEnd(GameController controller, int[] cursors) {
+        List<ShotOutcome> trace = new ArrayList<>();
+        playSteps(controller, cursors, Integer.MAX_VALUE, trace);
+        return trace;
+    }
+
+    /**
+     * Le joueur humain (1) balaie la grille de sa cible case par case ({@code cursors} par
+     * adversaire) ; les IA jouent seules. Chaque tir est ajouté à {@code trace}.
+     */
+    private static void playSteps(GameController controller, int[] cursors, int maxSteps, List<ShotOutcome> trace) {
+        for (int step = 0; step < maxSteps && !controller.isGameFinished(); step++) {
+            if (controller.isHumanSlot(controller.getCurrentPlayerNumber())) {
+                Integer target = controller.getCurrentTargetPlayer();
+                if (target == null) {
+                    target = 2;
+                    while (controller.getPlayerByNumber(target).hasLost()) {
+                        target++;
+                    }
+                }
+                int cell = cursors[target]++;
+                trace.add(controller.fireAt(1, cell % 8, cell / 8, target));
+            } else {
+                trace.add(controller.advanceAiSingleStep().shot());
+            }
+        }
+    }
 }
@@ -0,0 +1,93 @@
+package com.ehv.battleship.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class AITargetingTest {
+
+    private static final List<Integer> FLEET = List.of(5, 4, 3, 3, 2);
+
+    /** Nombre de tirs de l'IA pour couler toute la flotte adverse ; échoue sur un tir répété. */
+    private static int shotsToSinkFleet(TargetingMode mode, int gridSize) {
+        return playUntilFleetSunk(mode, gridSize, new long[1]);
+    }
+
+    /** Idem, en cumulant dans {@code decisionNanos[0]} le temps passé dans la seule décision de tir. */
+    private static int playUntilFleetSunk(TargetingMode mode, int gridSize, long[] decisionNanos) {
+        AI ai = new AI("IA", gridSize, FLEET);
+        AI defender = new AI("Cible", gridSize, FLEET);
+        Game game = new Game(gridSize, List.of(ai, defender));
+        ai.placeFleetStandardTypes();
+        defender.placeFleetStandardTypes();
+        ai.setTargetingMode(mode);
+        game.start();
+
+        Set<Coordinate> fired = new HashSet<>();
+        while (!defender.hasLost()) {
+            long start = System.nanoTime();
+            Coordinate shot = ai.chooseTargetForDefender(2);
+            decisionNanos[0] += System.nanoTime() - start;
+            assertTrue(fired.add(shot), "tir répété en " + shot);
+            ShotResult result = game.shoot(ai, defender, shot);
+            ai.handleShotResult(2, shot, result, defender.getSunkShipCoordinatesAt(shot));
+        }
+        return fired.size();
+    }
+
+    @Test
+    void shouldSinkFleetWithoutRepeatingShotsInBothModes() {
+        for (TargetingMode mode : TargetingMode.values()) {
+            assertTrue(shotsToSinkFleet(mode, 10) <= 100);
+        }
+    }
+
+    @Test
+    void shouldNeedFewerShotsWithDensityTargeting() {
+        int density = 0;
+        int legacy = 0;
+        for (int round = 0; round < 30; round++) {
+            density += shotsToSinkFleet(TargetingMode.PROBABILITY_DENSITY, 10);
+            legacy += shotsToSinkFleet(TargetingMode.HUNT_AND_TARGET, 10);
+        }
+        assertTrue(density < legacy, "densité " + density + " vs historique " + legacy);
+    }
+
+    @Test
+    void shouldDefaultToDensityTargetingForNewAi() {
+        assertEquals(TargetingMode.PROBABILITY_DENSITY, new AI("IA", 10, FLEET).getTargetingMode());
+    }
+
+    @Test
+    void shouldPursueACellAnotherAttackerAlreadyHit() {
+        for (long seed = 0; seed < 20; seed++) {
+            AI ai = new AI("IA", 10, FLEET);
+            ai.setRandom(new GameRandom(seed));
+            // Partie à 4 : la case a été touchée par un autre joueur, le navire est peut-être encore à flot.
+            ai.handleShotResult(2, Coordinate.of(5, 5), ShotResult.ALREADY_HIT);
+
+            Coordinate next = ai.chooseTargetForDefender(2);
+            assertEquals(1, Math.abs(next.getX() - 5) + Math.abs(next.getY() - 5), "graine " + seed + " : " + next);
+        }
+    }
+
+    /** Budget de la demande : 1 ms par décision sur 20x20 (mesure fine : AiTargetingBenchmark). */
+    @Test
+    void shouldDecideWithinOneMillisecondOnLargeBoard() {
+        for (int warmUp = 0; warmUp < 5; warmUp++) {
+            shotsToSinkFleet(TargetingMode.PROBABILITY_DENSITY, 20);
+        }
+        long[] decisionNanos = new long[1];
+        int shots = 0;
+        for (int round = 0; round < 5; round++) {
+            shots += playUntilFleetSunk(TargetingMode.PROBABILITY_DENSITY, 20, decisionNanos);
+        }
+        long averageNanos = decisionNanos[0] / shots;
+        assertTrue(averageNanos < 1_000_000L, "moyenne " + averageNanos + " ns par décision");
+    }
+}
@@ -0,0 +1,65 @@
+package com.ehv.battleship.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class FleetLayoutSolverTest {
+
+    private static void apply(Grid grid, List<Integer> sizes, List<ShipPlacement> layout) {
+        for (int index = 0; index < sizes.size(); index++) {
+            ShipPlacement placement = layout.get(index);
+            List<Coordinate> coordinates =
+                grid.generateShipCoordinates(placement.start(), sizes.get(index), placement.orientation());
+            grid.placeShip(new Ship(Ship.generateId(), "SHIP_" + index, sizes.get(index), coordinates,
+                placement.orientation()));
+        }
+    }
+
+    @Test
+    void shouldReturnWitnessAlignedWithRequestedOrder() {
+        List<Integer> sizes = List.of(2, 5, 3, 4, 3);
+        List<ShipPlacement> layout = FleetLayoutSolver.findLayout(10, sizes);
+
+        assertNotNull(layout);
+        assertEquals(sizes.size(), layout.size());
+        apply(new Grid(10), sizes, layout);
+    }
+
+    @Test
+    void shouldDetectFleetsThatCannotBePlaced() {
+        // Un 6x6 ne se pave pas avec neuf barres 1x4, bien que 36 cases tiennent.
+        assertFalse(FleetLayoutSolver.isFeasible(6, Collections.nCopies(9, 4)));
+        assertFalse(FleetLayoutSolver.isFeasible(5, List.of(6)));
+        assertTrue(FleetLayoutSolver.isFeasible(4, List.of(3, 3, 3, 3, 3, 1)));
+    }
+
+    @Test
+    void shouldPlaceAroundExistingShips() {
+        Grid grid = new Grid(3);
+        apply(grid, List.of(3), List.of(new ShipPlacement(Coordinate.of(1, 0), ShipOrientation.VERTICAL)));
+
+        List<Integer> sizes = List.of(3, 3);
+        List<ShipPlacement> layout = FleetLayoutSolver.findLayout(grid, sizes);
+        assertNotNull(layout);
+        apply(grid, sizes, layout);
+        assertNull(FleetLayoutSolver.findLayout(grid, List.of(1)));
+    }
+
+    @Test
+    void shouldAlwaysCompleteDenseAiFleet() {
+        List<Integer> fleet = List.of(3, 3, 3, 3, 3, 1);
+        for (int round = 0; round < 30; round++) {
+            AI ai = new AI("IA", 4, fleet);
+            ai.placeFleetStandardTypes();
+            assertEquals(fleet.size(), ai.getFleet().getShips().size());
+        }
+    }
+}
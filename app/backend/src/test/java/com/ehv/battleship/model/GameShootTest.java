@@ -0,0 +1,110 @@
+package com.ehv.battleship.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class GameShootTest {
+
+    private static Game duel(List<Integer> fleet) {
+        return new Game(6, List.of(new Player("P1", 6, fleet), new Player("P2", 6, fleet)));
+    }
+
+    private static Ship place(Game game, Player player, int x, int y, int size) {
+        List<Coordinate> coordinates = player.getGrid()
+            .generateShipCoordinates(Coordinate.of(x, y), size, ShipOrientation.HORIZONTAL);
+        Ship ship = new Ship(Ship.generateId(), "SHIP_" + y, size, coordinates, ShipOrientation.HORIZONTAL);
+        game.placeShip(player, ship);
+        return ship;
+    }
+
+    @Test
+    void shouldSinkShipOnLastHitAndMarkDefenderAsLost() {
+        Game game = duel(List.of(2));
+        Player attacker = game.getPlayers().get(0);
+        Player defender = game.getPlayers().get(1);
+        place(game, attacker, 0, 0, 2);
+        Ship target = place(game, defender, 2, 3, 2);
+        game.start();
+
+        assertEquals(ShotResult.HIT, game.shoot(attacker, defender, Coordinate.of(2, 3)));
+        assertFalse(target.isSunk());
+        assertFalse(defender.hasLost());
+        assertEquals(ShotResult.ALREADY_HIT, game.shoot(attacker, defender, Coordinate.of(2, 3)));
+
+        assertEquals(ShotResult.SUNK, game.shoot(attacker, defender, Coordinate.of(3, 3)));
+        assertTrue(target.isSunk());
+        assertEquals(CellStatus.SUNK, defender.getGrid().getCell(2, 3));
+        assertTrue(defender.hasLost());
+        assertTrue(game.isFinished());
+    }
+
+    @Test
+    void shouldRebuildIndexAfterShipRemoval() {
+        Game game = duel(List.of(2, 1));
+        Player attacker = game.getPlayers().get(0);
+        Player defender = game.getPlayers().get(1);
+        place(game, attacker, 0, 0, 2);
+        place(game, attacker, 0, 1, 1);
+        Ship moved = place(game, defender, 0, 0, 2);
+        assertFalse(defender.hasLost());
+        for (Coordinate coordinate : moved.getCoordinates()) {
+            defender.getGrid().setCell(coordinate, CellStatus.EMPTY);
+        }
+        defender.getFleet().removeShip(moved);
+        Ship relocated = place(game, defender, 4, 5, 2);
+        place(game, defender, 0, 2, 1);
+        game.start();
+
+        assertEquals(ShotResult.MISS, game.shoot(attacker, defender, Coordinate.of(0, 0)));
+        assertEquals(ShotResult.HIT, game.shoot(attacker, defender, Coordinate.of(4, 5)));
+        assertEquals(ShotResult.SUNK, game.shoot(attacker, defender, Coordinate.of(5, 5)));
+        assertTrue(relocated.isSunk());
+        assertFalse(defender.hasLost());
+    }
+
+    @Test
+    void shouldSinkWholeFleetOnForfeit() {
+        Game game = duel(List.of(2, 1));
+        Player quitter = game.getPlayers().get(0);
+        place(game, quitter, 0, 0, 2);
+        place(game, quitter, 0, 2, 1);
+
+        game.forfeit(quitter);
+
+        assertTrue(quitter.hasLost());
+        assertEquals(CellStatus.SUNK, quitter.getGrid().getCell(1, 0));
+        assertEquals(CellStatus.SUNK, quitter.getGrid().getCell(0, 2));
+    }
+
+    @Test
+    void shouldTrackAlivePlayersOnSinkAndForfeit() {
+        List<Integer> fleet = List.of(1);
+        Game game = new Game(6, List.of(
+            new Player("P1", 6, fleet), new Player("P2", 6, fleet),
+            new Player("P3", 6, fleet), new Player("P4", 6, fleet)));
+        for (Player player : game.getPlayers()) {
+            place(game, player, 0, 0, 1);
+        }
+        game.start();
+        Player attacker = game.getPlayers().get(0);
+        assertEquals(4, game.getAlivePlayerCount());
+        assertEquals(1, game.getPlayers().get(1).getRemainingShipCount());
+
+        assertEquals(ShotResult.SUNK, game.shoot(attacker, game.getPlayers().get(1), Coordinate.of(0, 0)));
+        assertEquals(3, game.getAlivePlayerCount());
+        assertEquals(0, game.getPlayers().get(1).getRemainingShipCount());
+
+        game.forfeit(game.getPlayers().get(2));
+        assertEquals(2, game.getAlivePlayerCount());
+        assertFalse(game.isFinished());
+
+        game.forfeit(game.getPlayers().get(3));
+        assertTrue(game.isFinished());
+        assertEquals(attacker, game.getWinner());
+    }
+}
@@ -0,0 +1,74 @@
+package com.ehv.battleship.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PlacementMasksTest {
+
+    private static void place(Grid grid, ShipPlacement placement, int length) {
+        List<Coordinate> coordinates = grid.generateShipCoordinates(placement.start(), length, placement.orientation());
+        grid.placeShip(new Ship(Ship.generateId(), "SHIP", length, coordinates, placement.orientation()));
+    }
+
+    @Test
+    void shouldCountLegalPlacementsOnEmptyBoard() {
+        Grid grid = new Grid(10);
+        assertEquals(120, PlacementMasks.countFree(grid, 5));
+        assertEquals(100, PlacementMasks.countFree(grid, 1));
+        assertEquals(0, PlacementMasks.countFree(grid, 11));
+    }
+
+    @Test
+    void shouldExcludePlacementsCrossingShips() {
+        Grid grid = new Grid(3);
+        place(grid, new ShipPlacement(Coordinate.of(0, 1), ShipOrientation.HORIZONTAL), 3);
+        assertEquals(2, PlacementMasks.countFree(grid, 3));
+        assertEquals(6, PlacementMasks.countFree(grid, 1));
+    }
+
+    @Test
+    void shouldFillDenseBoardWithoutOverlap() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            Grid grid = new Grid(4);
+            for (int ship = 0; ship < 4; ship++) {
+                ShipPlacement placement = PlacementMasks.sampleFree(grid, 4, random);
+                assertNotNull(placement);
+                place(grid, placement, 4);
+            }
+            assertNull(PlacementMasks.sampleFree(grid, 1, random));
+        }
+    }
+
+    @Test
+    void shouldSpanMultipleWordsOnLargeBoards() {
+        Grid grid = new Grid(20);
+        Random random = new Random(7);
+        int placed = 0;
+        ShipPlacement placement;
+        while ((placement = PlacementMasks.sampleFree(grid, 2, random)) != null) {
+            place(grid, placement, 2);
+            placed++;
+        }
+        assertEquals(0, PlacementMasks.countFree(grid, 2));
+        assertEquals(placed * 2 + countEmpty(grid), 400);
+    }
+
+    private static int countEmpty(Grid grid) {
+        int empty = 0;
+        for (int y = 0; y < grid.getSize(); y++) {
+            for (int x = 0; x < grid.getSize(); x++) {
+                if (grid.getCell(x, y) == CellStatus.EMPTY) {
+                    empty++;
+                }
+            }
+        }
+        return empty;
+    }
+}
@@ -0,0 +1,128 @@
+package com.ehv.battleship.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ehv.battleship.legacy.controller.GameController;
+
+class GameJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final SavedGameSnapshot snapshot =
+        SavedGameSnapshot.fromGameOnly(GameController.createNewGame(6, List.of(2), 2));
+
+    @Test
+    void shouldRecoverCommandsAndDropATornTail() throws IOException {
+        try (GameJournal journal = GameJournal.open(directory, "G1")) {
+            assertNull(journal.recover());
+            journal.checkpoint(snapshot);
+            journal.append(JournalCommand.placeShip(1, "SHIP_0", 0, 0, "HORIZONTAL"));
+            journal.append(JournalCommand.fire(2, 3, 4, null));
+        }
+        Path log = onlyFile(".journal");
+        Files.write(log, new byte[] {0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        try (GameJournal journal = GameJournal.open(directory, "G1")) {
+            GameJournal.Recovered recovered = journal.recover();
+            assertEquals(List.of(
+                JournalCommand.placeShip(1, "SHIP_0", 0, 0, "HORIZONTAL"),
+                JournalCommand.fire(2, 3, 4, null)), recovered.commands());
+            assertEquals(2, journal.pendingCommands());
+            journal.append(JournalCommand.aiStep());
+        }
+        try (GameJournal journal = GameJournal.open(directory, "G1")) {
+            assertEquals(JournalCommand.aiStep(), journal.recover().commands().get(2));
+        }
+    }
+
+    @Test
+    void shouldKeepOnlyTheLatestGenerationAfterCheckpoint() throws IOException {
+        try (GameJournal journal = GameJournal.open(directory, "G1")) {
+            journal.checkpoint(snapshot);
+            journal.append(JournalCommand.confirmPlacement(1));
+            journal.checkpoint(snapshot);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("G1.2.snapshot"), files.map(path -> path.getFileName().toString()).toList());
+        }
+        try (GameJournal journal = GameJournal.open(directory, "G1")) {
+            assertEquals(List.of(), journal.recover().commands());
+        }
+    }
+
+    @Test
+    void shouldDropLeftoversOfAnInterruptedCheckpoint() throws IOException {
+        try (GameJournal journal = GameJournal.open(directory, "G1")) {
+            journal.checkpoint(snapshot);
+            journal.append(JournalCommand.fire(1, 0, 0, null));
+            journal.append(JournalCommand.fire(1, 1, 0, null));
+        }
+        // Arrêt pendant la compaction vers la génération 2 : journal déjà écrit, instantané pas encore renommé.
+        Files.copy(directory.resolve("G1.1.journal"), directory.resolve("G1.2.journal"));
+        Files.writeString(directory.resolve("G1.2.snapshot.tmp"), "instantané incomplet");
+
+        try (GameJournal journal = GameJournal.open(directory, "G1")) {
+            assertEquals(2, journal.recover().commands().size());
+            assertEquals(List.of("G1.1.journal", "G1.1.snapshot"), fileNames());
+            journal.checkpoint(snapshot);
+            journal.append(JournalCommand.aiStep());
+        }
+        try (GameJournal journal = GameJournal.open(directory, "G1")) {
+            assertEquals(List.of(JournalCommand.aiStep()), journal.recover().commands());
+            // Journal orphelin apparu après l'ouverture : la génération suivante ne doit pas s'y ajouter.
+            Files.copy(directory.resolve("G1.2.journal"), directory.resolve("G1.3.journal"));
+            journal.checkpoint(snapshot);
+            journal.append(JournalCommand.confirmPlacement(1));
+        }
+        try (GameJournal journal = GameJournal.open(directory, "G1")) {
+            assertEquals(List.of(JournalCommand.confirmPlacement(1)), journal.recover().commands());
+        }
+    }
+
+    @Test
+    void shouldDeleteOnlyJournalsUntouchedForTooLong() throws IOException {
+        for (String gameId : List.of("OLD", "NEW")) {
+            try (GameJournal journal = GameJournal.open(directory, gameId)) {
+                journal.checkpoint(snapshot);
+                journal.append(JournalCommand.aiStep());
+            }
+        }
+        FileTime twoDaysAgo = FileTime.from(Instant.now().minus(Duration.ofDays(2)));
+        Files.setLastModifiedTime(directory.resolve("OLD.1.snapshot"), twoDaysAgo);
+        Files.setLastModifiedTime(directory.resolve("OLD.1.journal"), twoDaysAgo);
+        Files.setLastModifiedTime(directory.resolve("NEW.1.snapshot"), twoDaysAgo);
+        Files.writeString(directory.resolve("notes.txt"), "autre fichier");
+        Files.setLastModifiedTime(directory.resolve("notes.txt"), twoDaysAgo);
+
+        assertEquals(1, GameJournal.deleteOlderThan(directory, Duration.ofDays(1)));
+
+        assertEquals(List.of("NEW.1.journal", "NEW.1.snapshot", "notes.txt"), fileNames());
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private Path onlyFile(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(suffix)).findFirst().orElseThrow();
+        }
+    }
+}
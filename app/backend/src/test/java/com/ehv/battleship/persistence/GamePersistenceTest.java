@@ -1,13 +1,23 @@
 package com.ehv.battleship.persistence;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import com.ehv.battleship.legacy.controller.GameController;
+import com.ehv.battleship.model.AI;
+import com.ehv.battleship.model.Coordinate;
 import com.ehv.battleship.model.Game;
 import com.ehv.battleship.model.Player;
+import com.ehv.battleship.model.ShotResult;
 
 class GamePersistenceTest {
 
@@ -23,4 +33,29 @@ class GamePersistenceTest {
     void shouldRejectPathTraversalWhenLoading() {
         assertThrows(IllegalArgumentException.class, () -> GamePersistence.load("../outside"));
     }
+
+    @Test
+    void shouldWriteCompactBinaryFilesAndStillLoadJsonOnes() throws IOException {
+        Game game = GameController.createNewGameVsAI(10, List.of(5, 4, 3, 3, 2));
+        AI ai = (AI) game.getPlayers().get(1);
+        ai.handleShotResult(1, Coordinate.of(2, 2), ShotResult.MISS);
+        SavedGameSnapshot snapshot = SavedGameSnapshot.fromGameOnly(game);
+        Path binary = GamePersistence.savesDirectory().resolve("format-binary-test.save");
+        Path json = GamePersistence.savesDirectory().resolve("format-json-test.save");
+        try {
+            GamePersistence.saveSnapshot(snapshot, "format-binary-test");
+            GamePersistence.saveSnapshot(snapshot, "format-json-test", GamePersistence.SaveFormat.JSON);
+
+            assertTrue(BinarySnapshotCodec.isBinary(Files.readAllBytes(binary)));
+            assertFalse(BinarySnapshotCodec.isBinary(Files.readAllBytes(json)));
+            assertTrue(Files.size(binary) * 4 < Files.size(json));
+            for (String fileName : List.of("format-binary-test", "format-json-test")) {
+                SavedGameSnapshot restored = GamePersistence.loadSnapshot(fileName);
+                assertEquals(GamePersistence.toJson(snapshot), GamePersistence.toJson(restored));
+            }
+        } finally {
+            Files.deleteIfExists(binary);
+            Files.deleteIfExists(json);
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package com.ehv.battleship.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GroupCommitWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldCoalesceWritesToTheSameFileWithinOneWindow() throws Exception {
+        Path target = directory.resolve("lobby.save");
+        List<String> written = new CopyOnWriteArrayList<>();
+        try (GroupCommitWriter writer = new GroupCommitWriter(Duration.ofMinutes(1))) {
+            CompletableFuture<Void> first = writer.writeAtomically(target, bytes("v1"), () -> written.add("v1"));
+            CompletableFuture<Void> second = writer.writeAtomically(target, bytes("v2"), () -> written.add("v2"));
+            CompletableFuture<Void> other = writer.writeAtomically(directory.resolve("other.save"), bytes("o"));
+
+            assertSame(first, second);
+            writer.flush().get(5, TimeUnit.SECONDS);
+            assertTrue(first.isDone() && other.isDone());
+        }
+        assertEquals(List.of("v2"), written);
+        assertEquals("v2", Files.readString(target));
+        assertEquals(List.of("lobby.save", "other.save"), fileNames());
+    }
+
+    @Test
+    void shouldReplaceExistingFilesWithoutLeavingTemporaries() throws IOException {
+        Path target = directory.resolve("lobby.save");
+        Files.writeString(target, "ancienne version");
+        try (GroupCommitWriter writer = new GroupCommitWriter(Duration.ZERO)) {
+            writer.writeAtomically(target, bytes("nouvelle version")).join();
+
+            Files.writeString(directory.resolve("absent"), "fichier, pas répertoire");
+            CompletableFuture<Void> failed = writer.writeAtomically(directory.resolve("absent").resolve("x.save"), bytes("x"));
+            assertThrows(CompletionException.class, failed::join);
+        }
+        assertEquals("nouvelle version", Files.readString(target));
+        assertEquals(List.of("absent", "lobby.save"), fileNames());
+    }
+
+    @Test
+    void shouldKeepCommittingAfterAFailingCallback() throws Exception {
+        Path target = directory.resolve("lobby.save");
+        try (GroupCommitWriter writer = new GroupCommitWriter(Duration.ZERO)) {
+            CompletableFuture<Void> first = writer.writeAtomically(target, bytes("v1"), () -> {
+                throw new IllegalStateException("rappel défaillant");
+            });
+            first.get(5, TimeUnit.SECONDS);
+
+            writer.writeAtomically(target, bytes("v2")).get(5, TimeUnit.SECONDS);
+            writer.flush().get(5, TimeUnit.SECONDS);
+        }
+        assertEquals("v2", Files.readString(target));
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
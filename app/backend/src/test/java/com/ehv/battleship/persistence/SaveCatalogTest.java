@@ -0,0 +1,62 @@
+package com.ehv.battleship.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ehv.battleship.legacy.controller.GameController;
+
+class SaveCatalogTest {
+
+    @TempDir
+    Path directory;
+
+    private final SavedGameSnapshot snapshot =
+        SavedGameSnapshot.fromGameOnly(GameController.createNewGame(8, List.of(2, 3), 4));
+
+    @Test
+    void shouldPageByPrefixAndDescribeOnlyServedEntries() throws IOException {
+        for (String name : List.of("lobby-b", "lobby-a", "autre", "lobby-c")) {
+            Files.write(directory.resolve(name + ".save"), GamePersistence.encodeBinary(snapshot));
+        }
+        Files.writeString(directory.resolve("lobby-z.save.tmp"), "écriture interrompue");
+        SaveCatalog catalog = new SaveCatalog(directory);
+
+        SaveCatalog.Page first = catalog.page("lobby-", 0, 2);
+        assertEquals(List.of("lobby-a", "lobby-b"), first.items().stream().map(SaveCatalog.Entry::name).toList());
+        assertTrue(first.hasMore());
+        assertEquals(new SaveCatalog.Summary(4, 8, "SETUP"), first.items().get(0).summary());
+
+        SaveCatalog.Page last = catalog.page("lobby-", 2, 2);
+        assertEquals(List.of("lobby-c"), last.items().stream().map(SaveCatalog.Entry::name).toList());
+        assertFalse(last.hasMore());
+        assertEquals(List.of("autre", "lobby-a", "lobby-b", "lobby-c"), catalog.names("", 0, 10));
+    }
+
+    @Test
+    void shouldFollowWritesAndDropVanishedFiles() throws IOException {
+        Files.writeString(directory.resolve("ancienne.save"), "pas une sauvegarde");
+        Files.writeString(directory.resolve("supprimee.save"), "{}");
+        SaveCatalog catalog = new SaveCatalog(directory);
+        assertEquals(List.of("ancienne", "supprimee"), catalog.names("", 0, 10));
+
+        Path written = directory.resolve("nouvelle.save");
+        Files.write(written, GamePersistence.encodeBinary(snapshot));
+        catalog.recordWrite(written, SaveCatalog.Summary.of(snapshot.getGame()));
+        Files.delete(directory.resolve("supprimee.save"));
+
+        List<SaveCatalog.Entry> items = catalog.page("", 0, 10).items();
+        assertEquals(List.of("ancienne", "nouvelle"), items.stream().map(SaveCatalog.Entry::name).toList());
+        assertEquals("ILLISIBLE", items.get(0).summary().phase());
+        assertEquals(Files.size(written), items.get(1).sizeBytes());
+        assertEquals(List.of("ancienne", "nouvelle"), catalog.names("", 0, 10));
+    }
+}
@@ -1,6 +1,7 @@
 package com.ehv.battleship.persistence;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.LinkedHashMap;
@@ -11,10 +12,23 @@ import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
 import com.ehv.battleship.legacy.controller.GameController;
+import com.ehv.battleship.model.AI;
+import com.ehv.battleship.model.CellStatus;
+import com.ehv.battleship.model.Coordinate;
 import com.ehv.battleship.model.Game;
+import com.ehv.battleship.model.GameRandom;
 import com.ehv.battleship.model.GameState;
 import com.ehv.battleship.model.Player;
+import com.ehv.battleship.model.Ship;
+import com.ehv.battleship.model.ShipOrientation;
+import com.ehv.battleship.model.ShotResult;
+import com.ehv.battleship.model.TargetingMode;
 
 class SavedGameSnapshotRoundTripTest {
 
@@ -72,4 +86,88 @@ class SavedGameSnapshotRoundTripTest {
         assertEquals(GameState.PLACEMENT, controller.getGame().getState());
         assertTrue(controller.isPlacementLocked(1));
     }
+
+    @Test
+    void shouldRoundTripGridCellsInCompactFormat() {
+        Game game = GameController.createNewGame(6, List.of(2), 2);
+        Player first = game.getPlayers().get(0);
+        Coordinate start = new Coordinate(1, 1);
+        List<Coordinate> coordinates = first.getGrid().generateShipCoordinates(start, 2, ShipOrientation.VERTICAL);
+        game.placeShip(first, new Ship(Ship.generateId(), "SHIP_0", 2, coordinates, ShipOrientation.VERTICAL));
+        first.getGrid().setCell(new Coordinate(1, 2), CellStatus.HIT);
+        first.getGrid().setCell(new Coordinate(5, 5), CellStatus.MISS);
+
+        String json = GamePersistence.toJson(SavedGameSnapshot.fromGameOnly(game));
+        Player restored = GamePersistence.fromJson(json).getGame().getPlayers().get(0);
+
+        assertEquals(CellStatus.SHIP, restored.getGrid().getCell(1, 1));
+        assertEquals(CellStatus.HIT, restored.getGrid().getCell(1, 2));
+        assertEquals(CellStatus.MISS, restored.getGrid().getCell(5, 5));
+        assertEquals(CellStatus.EMPTY, restored.getGrid().getCell(0, 0));
+    }
+
+    @Test
+    void shouldMigrateLegacyCellArrayGrids() {
+        String legacyGrid = "{\"size\":2,\"cells\":["
+            + "[{\"coordinate\":{\"x\":0,\"y\":0},\"status\":\"SHIP\"},"
+            + "{\"coordinate\":{\"x\":1,\"y\":0},\"status\":\"EMPTY\"}],"
+            + "[{\"coordinate\":{\"x\":0,\"y\":1},\"status\":\"MISS\"},"
+            + "{\"coordinate\":{\"x\":1,\"y\":1},\"status\":\"SUNK\"}]]}";
+        String legacyPlayer = "{\"id\":1,\"name\":\"P\",\"grid\":" + legacyGrid
+            + ",\"fleet\":{\"ships\":[],\"requiredSizes\":[1]},\"ready\":false}";
+        String legacyGame = "{\"id\":1,\"gridSize\":2,\"state\":\"PLAYING\",\"players\":["
+            + legacyPlayer + "," + legacyPlayer.replace("\"id\":1", "\"id\":2")
+            + "],\"currentPlayerIndex\":0}";
+
+        Game restored = GamePersistence.fromJson(legacyGame).getGame();
+        Player player = restored.getPlayers().get(0);
+
+        assertEquals(CellStatus.SHIP, player.getGrid().getCell(0, 0));
+        assertEquals(CellStatus.EMPTY, player.getGrid().getCell(1, 0));
+        assertEquals(CellStatus.MISS, player.getGrid().getCell(0, 1));
+        assertEquals(CellStatus.SUNK, player.getGrid().getCell(1, 1));
+    }
+
+    @Test
+    void shouldKeepAiTargetingMemoryAcrossSave() {
+        Game game = GameController.createNewGameVsAI(6, List.of(2));
+        AI ai = (AI) game.getPlayers().get(1);
+        ai.setRandom(new GameRandom(42L));
+        ai.handleShotResult(1, Coordinate.of(2, 2), ShotResult.MISS);
+
+        String json = GamePersistence.toJson(SavedGameSnapshot.fromGameOnly(game));
+        AI restored = (AI) GamePersistence.fromJson(json).getGame().getPlayers().get(1);
+
+        assertEquals(TargetingMode.PROBABILITY_DENSITY, restored.getTargetingMode());
+        // Même carte de densité et même flux d'aléa : les deux IA doivent viser les mêmes cases.
+        for (int shot = 0; shot < 35; shot++) {
+            Coordinate expected = ai.chooseTargetForDefender(1);
+            Coordinate actual = restored.chooseTargetForDefender(1);
+            assertEquals(expected, actual, "tir " + shot);
+            assertNotEquals(Coordinate.of(2, 2), actual);
+            ai.handleShotResult(1, expected, ShotResult.MISS);
+            restored.handleShotResult(1, actual, ShotResult.MISS);
+        }
+    }
+
+    @Test
+    void shouldWritePlayerKindFirstAndStillReadFlatPlayers() {
+        Game game = GameController.createNewGameVsAI(6, List.of(2));
+        String json = GamePersistence.toJson(SavedGameSnapshot.fromGameOnly(game));
+        JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+        JsonArray players = root.getAsJsonObject("game").getAsJsonArray("players");
+        assertEquals(PlayerTypeAdapter.KIND_FIELD, players.get(1).getAsJsonObject().keySet().iterator().next());
+
+        JsonArray flatPlayers = new JsonArray();
+        for (JsonElement wrapped : players) {
+            JsonObject flat = wrapped.getAsJsonObject().getAsJsonObject(PlayerTypeAdapter.BODY_FIELD).deepCopy();
+            flat.add(PlayerTypeAdapter.KIND_FIELD, wrapped.getAsJsonObject().get(PlayerTypeAdapter.KIND_FIELD));
+            flatPlayers.add(flat);
+        }
+        root.getAsJsonObject("game").add("players", flatPlayers);
+        SavedGameSnapshot restored = GamePersistence.fromJson(root.toString());
+
+        assertTrue(restored.getGame().getPlayers().get(1) instanceof AI);
+        assertEquals(json, GamePersistence.toJson(restored));
+    }
 }
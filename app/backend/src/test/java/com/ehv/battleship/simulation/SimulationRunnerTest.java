@@ -0,0 +1,46 @@
+package com.ehv.battleship.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class SimulationRunnerTest {
+
+    private static SimulationReport runWith(int threads, SimulationSettings settings) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return SimulationRunner.run(settings, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReplaySameGamesWhateverTheParallelism() {
+        SimulationSettings settings = new SimulationSettings(8, SimulationSettings.DEFAULT_FLEET, 2, 40, 7L);
+
+        SimulationReport sequential = runWith(1, settings);
+        SimulationReport parallel = runWith(4, settings);
+
+        assertEquals(sequential.totalShots(), parallel.totalShots());
+        assertArrayEquals(sequential.winsBySeat(), parallel.winsBySeat());
+        assertEquals(40, Arrays.stream(sequential.winsBySeat()).sum());
+    }
+
+    @Test
+    void shouldPlayFourPlayerGamesToCompletion() {
+        SimulationSettings settings = new SimulationSettings(10, SimulationSettings.DEFAULT_FLEET, 4, 12, 3L);
+
+        SimulationReport report = SimulationRunner.run(settings);
+
+        assertEquals(12, Arrays.stream(report.winsBySeat()).sum());
+        // Au minimum trois flottes de 17 cases coulées par partie.
+        assertTrue(report.shotsPerGame() >= 3 * 17);
+        assertTrue(report.gamesPerSecond() > 0);
+    }
+}
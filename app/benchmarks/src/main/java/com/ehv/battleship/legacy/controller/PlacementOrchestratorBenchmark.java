@@ -0,0 +1,54 @@
+package com.ehv.battleship.legacy.controller;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@code PlacementOrchestrator.placeShipRandomly} : pose aléatoire de toute la flotte de chaque
+ * joueur. Même paquet que l'orchestrateur (visibilité paquet) ; une opération = toutes les
+ * flottes posées, sur une partie neuve préparée hors mesure.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PlacementOrchestratorBenchmark {
+
+    private static final List<Integer> FLEET = List.of(5, 4, 3, 3, 2);
+
+    @Param({"10", "15", "20"})
+    int boardSize;
+
+    @Param({"2", "4"})
+    int players;
+
+    private SessionState state;
+    private PlacementOrchestrator placement;
+
+    @Setup(Level.Invocation)
+    public void freshSession() {
+        state = new SessionState(GameFactories.createAiOnlyGame(boardSize, FLEET, players), FLEET);
+        placement = new PlacementOrchestrator(state);
+    }
+
+    @Benchmark
+    public int placeAllFleets() {
+        int placed = 0;
+        for (int player = 1; player <= players; player++) {
+            for (String shipType : state.fleetByType.keySet()) {
+                placement.placeShipRandomly(player, shipType);
+                placed++;
+            }
+        }
+        return placed;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ehv.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ehv.battleship.model.AI;
+import com.ehv.battleship.model.Game;
+import com.ehv.battleship.model.Player;
+import com.ehv.battleship.model.ShootDecision;
+import com.ehv.battleship.model.ShotResult;
+import com.ehv.battleship.model.TargetingMode;
+
+/**
+ * {@code AI.chooseShootingTarget} : l'IA du siège 1 tire (sans alternance des tours) jusqu'à
+ * éliminer tous ses adversaires. Une opération = une partie gagnée ; comparer les deux moteurs
+ * de ciblage via {@code targetingMode}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AiTargetingBenchmark {
+
+    @Param({"10", "15", "20"})
+    int boardSize;
+
+    @Param({"2", "4"})
+    int players;
+
+    @Param({"PROBABILITY_DENSITY", "HUNT_AND_TARGET"})
+    TargetingMode targetingMode;
+
+    private Game game;
+    private AI ai;
+
+    @Setup(Level.Invocation)
+    public void freshGame() {
+        game = BenchmarkFixtures.placedGame(boardSize, players);
+        ai = (AI) game.getPlayers().get(0);
+        ai.setTargetingMode(targetingMode);
+    }
+
+    @Benchmark
+    public int winGame() {
+        int shots = 0;
+        while (!game.isFinished()) {
+            ShootDecision decision = ai.chooseShootingTarget(game, 1);
+            Player defender = game.getPlayers().get(decision.defenderNumber() - 1);
+            ShotResult result = game.shoot(ai, defender, decision.coordinate());
+            ai.handleShotResult(decision.defenderNumber(), decision.coordinate(), result,
+                defender.getSunkShipCoordinatesAt(decision.coordinate()));
+            shots++;
+        }
+        return shots;
+    }
+}
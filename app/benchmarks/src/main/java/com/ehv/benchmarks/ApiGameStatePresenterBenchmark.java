@@ -0,0 +1,41 @@
+package com.ehv.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ehv.api.presentation.ApiGameStatePresenter;
+import com.ehv.api.view.GameStateResponse;
+import com.ehv.battleship.legacy.controller.GameController;
+
+/** {@code ApiGameStatePresenter.project} : vue du joueur 1 sur une partie en milieu de bataille. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ApiGameStatePresenterBenchmark {
+
+    @Param({"10", "15", "20"})
+    int boardSize;
+
+    @Param({"2", "4"})
+    int players;
+
+    private GameController controller;
+
+    @Setup
+    public void midGameController() {
+        controller = new GameController(BenchmarkFixtures.midGame(boardSize, players));
+    }
+
+    @Benchmark
+    public GameStateResponse project() {
+        return ApiGameStatePresenter.project(controller, 1);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ehv.benchmarks;
+
+import java.util.List;
+
+import com.ehv.battleship.legacy.controller.GameFactories;
+import com.ehv.battleship.model.AI;
+import com.ehv.battleship.model.Coordinate;
+import com.ehv.battleship.model.Game;
+import com.ehv.battleship.model.GameRandom;
+import com.ehv.battleship.model.Player;
+
+/**
+ * Parties de référence des bancs : uniquement des IA, flotte standard, graine fixe pour que
+ * chaque itération mesure exactement la même situation.
+ */
+final class BenchmarkFixtures {
+
+    static final List<Integer> FLEET = List.of(5, 4, 3, 3, 2);
+    static final long SEED = 20_250_101L;
+
+    private BenchmarkFixtures() {}
+
+    /** Partie en cours, flottes posées, aucun tir. */
+    static Game placedGame(int boardSize, int players) {
+        Game game = GameFactories.createAiOnlyGame(boardSize, FLEET, players);
+        GameRandom random = new GameRandom(SEED);
+        for (Player player : game.getPlayers()) {
+            AI ai = (AI) player;
+            ai.setRandom(random.split());
+            ai.placeFleetStandardTypes();
+        }
+        game.start();
+        return game;
+    }
+
+    /**
+     * Partie en milieu de bataille : chaque joueur a tiré sur le suivant environ un tiers des
+     * cases (plateaux mêlant navires, touches, manqués et coulés).
+     */
+    static Game midGame(int boardSize, int players) {
+        Game game = placedGame(boardSize, players);
+        GameRandom random = new GameRandom(SEED);
+        List<Player> seats = game.getPlayers();
+        for (int seat = 0; seat < seats.size(); seat++) {
+            Player attacker = seats.get(seat);
+            Player defender = seats.get((seat + 1) % seats.size());
+            for (int shot = 0; shot < boardSize * boardSize / 3 && !game.isFinished(); shot++) {
+                game.shoot(attacker, defender,
+                    Coordinate.of(random.nextInt(boardSize), random.nextInt(boardSize)));
+            }
+        }
+        return game;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ehv.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ehv.battleship.persistence.GamePersistence;
+import com.ehv.battleship.persistence.SavedGameSnapshot;
+
+/** {@code GamePersistence.toJson/fromJson} sur une partie en milieu de bataille. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GamePersistenceBenchmark {
+
+    @Param({"10", "15", "20"})
+    int boardSize;
+
+    @Param({"2", "4"})
+    int players;
+
+    private SavedGameSnapshot snapshot;
+    private String json;
+
+    @Setup
+    public void midGameSnapshot() {
+        snapshot = SavedGameSnapshot.fromGameOnly(BenchmarkFixtures.midGame(boardSize, players));
+        json = GamePersistence.toJson(snapshot);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return GamePersistence.toJson(snapshot);
+    }
+
+    @Benchmark
+    public SavedGameSnapshot fromJson() {
+        return GamePersistence.fromJson(json);
+    }
+}
@@ -0,0 +1,59 @@
+package com.ehv.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ehv.battleship.model.Coordinate;
+import com.ehv.battleship.model.Game;
+import com.ehv.battleship.model.Player;
+
+/**
+ * {@code Game.shoot} : le joueur 1 balaie case par case les plateaux adverses jusqu'à la fin de
+ * la partie (manqués, touches, coulés, élimination). Une opération = une partie balayée ;
+ * la partie neuve est préparée hors mesure.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GameShootBenchmark {
+
+    @Param({"10", "15", "20"})
+    int boardSize;
+
+    @Param({"2", "4"})
+    int players;
+
+    private Game game;
+
+    @Setup(Level.Invocation)
+    public void freshGame() {
+        game = BenchmarkFixtures.placedGame(boardSize, players);
+    }
+
+    @Benchmark
+    public int sweepOpponentBoards() {
+        List<Player> seats = game.getPlayers();
+        Player attacker = seats.get(0);
+        int shots = 0;
+        for (int seat = 1; seat < seats.size(); seat++) {
+            Player defender = seats.get(seat);
+            for (int y = 0; y < boardSize && !game.isFinished(); y++) {
+                for (int x = 0; x < boardSize && !game.isFinished(); x++) {
+                    game.shoot(attacker, defender, Coordinate.of(x, y));
+                    shots++;
+                }
+            }
+        }
+        return shots;
+    }
+}
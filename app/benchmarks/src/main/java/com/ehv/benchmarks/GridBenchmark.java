@@ -0,0 +1,54 @@
+package com.ehv.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ehv.battleship.model.Coordinate;
+import com.ehv.battleship.model.Grid;
+import com.ehv.battleship.model.ShipOrientation;
+
+/**
+ * {@code Grid.canPlaceShip} : toutes les positions et orientations d'un navire de 3 cases sur
+ * une grille portant déjà la flotte standard. Une opération = un balayage complet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GridBenchmark {
+
+    private static final ShipOrientation[] ORIENTATIONS = ShipOrientation.values();
+
+    @Param({"10", "15", "20"})
+    int boardSize;
+
+    private Grid grid;
+
+    @Setup
+    public void placedGrid() {
+        grid = BenchmarkFixtures.placedGame(boardSize, 2).getPlayers().get(0).getGrid();
+    }
+
+    @Benchmark
+    public int scanCanPlaceShip() {
+        int legal = 0;
+        for (int y = 0; y < boardSize; y++) {
+            for (int x = 0; x < boardSize; x++) {
+                Coordinate start = Coordinate.of(x, y);
+                for (ShipOrientation orientation : ORIENTATIONS) {
+                    if (grid.canPlaceShip(start, 3, orientation)) {
+                        legal++;
+                    }
+                }
+            }
+        }
+        return legal;
+    }
+}
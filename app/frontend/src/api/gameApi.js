@@ -1,5 +1,6 @@
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL ?? '/api'
 import { getLobbyResumeToken } from '@/features/lobby/lobbyAuthStorage'
+import { expandCompactBoards, expandCompactDelta } from '@/features/game/boardEncoding'
 
 async function callApi(path, options = {}) {
   const headers = { 'Content-Type': 'application/json', ...(options.headers ?? {}) }
@@ -53,14 +54,30 @@ export function resetGame(
   })
 }
 
-export function getGameState(player, lobbyGameId) {
-  const params = new URLSearchParams({ player: String(player) })
+export async function getGameState(player, lobbyGameId) {
+  const params = new URLSearchParams({ player: String(player), boardEncoding: 'rle' })
   if (lobbyGameId != null && String(lobbyGameId).trim() !== '') {
     params.set('gameId', String(lobbyGameId).trim())
   }
-  return callApi(`/game/state?${params.toString()}`, {
+  const state = await callApi(`/game/state?${params.toString()}`, {
     authGameId: lobbyGameId,
   })
+  return expandCompactBoards(state)
+}
+
+/**
+ * Cases changees depuis `since` (version renvoyee par l'appel precedent, 0 au depart).
+ * Le serveur repond par un etat complet (`fullSnapshot`) si l'ecart est trop grand.
+ */
+export async function getGameStateDelta(player, lobbyGameId, since = 0) {
+  const params = new URLSearchParams({ player: String(player), since: String(since), boardEncoding: 'rle' })
+  if (lobbyGameId != null && String(lobbyGameId).trim() !== '') {
+    params.set('gameId', String(lobbyGameId).trim())
+  }
+  const delta = await callApi(`/game/state/delta?${params.toString()}`, {
+    authGameId: lobbyGameId,
+  })
+  return expandCompactDelta(delta)
 }
 
 export function placeShip(payload) {
@@ -140,6 +140,9 @@ export default function App() {
     fallbackPlayerCount: setup.playerCount,
     refreshStateAction: api.refreshStateAction,
     syncStateAction: api.syncStateAction,
+    applyPushedDeltaAction: api.applyPushedDeltaAction,
+    requestStateSync: ws.requestStateSync,
+    wsConnected: ws.wsState.connected,
     enterGameScreenWithState: handleEnterGameScreenWithState,
     wsPlayerNumber: ws.wsState?.playerNumber ?? 1,
     onStatus: setStatusMessage,
@@ -20,7 +20,7 @@ export const IMPACT_FLASH_MS = 3000
 export const ENEMY_IMPACT_STAGGER_MS = 1000
 
 /**
- * Synchronisation HTTP reguliere en lobby (complement des messages WebSocket
- * GAME_STATE_UPDATE).
+ * Synchronisation HTTP reguliere en lobby : attente du lancement sur le menu,
+ * et repli en partie quand la socket (messages `STATE_DELTA`) est coupee.
  */
 export const LOBBY_SYNC_POLL_MS = 400
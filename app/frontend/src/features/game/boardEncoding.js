@@ -0,0 +1,51 @@
+/**
+ * Decodage du format compact des plateaux (`boardEncoding=rle` cote API).
+ *
+ * Cases lues ligne par ligne ; chaque plage s'ecrit `<code><longueur>`, longueur
+ * omise si 1. Codes : E vide, S navire, M manque, H touche, K coule.
+ */
+
+const CELL_BY_CODE = { E: 'EMPTY', S: 'SHIP', M: 'MISS', H: 'HIT', K: 'SUNK' }
+const RUN_PATTERN = /([ESMHK])(\d*)/g
+
+/**
+ * @param {string} rle
+ * @param {number} boardSize
+ * @returns {string[][]}
+ */
+export function decodeBoardRle(rle, boardSize) {
+  const flat = []
+  for (const [, code, length] of rle.matchAll(RUN_PATTERN)) {
+    const cell = CELL_BY_CODE[code]
+    for (let i = length === '' ? 1 : Number(length); i > 0; i -= 1) flat.push(cell)
+  }
+  const rows = []
+  for (let y = 0; y < boardSize; y += 1) {
+    rows.push(flat.slice(y * boardSize, (y + 1) * boardSize))
+  }
+  return rows
+}
+
+/**
+ * Remet les planches `cellsRle` au format historique `cells` ; un etat deja
+ * au format historique est renvoye tel quel.
+ */
+export function expandCompactBoards(state) {
+  if (!state?.boards?.some((board) => typeof board?.cellsRle === 'string')) return state
+  return {
+    ...state,
+    boards: state.boards.map(({ cellsRle, ...board }) => (
+      typeof cellsRle === 'string'
+        ? { ...board, cells: decodeBoardRle(cellsRle, state.boardSize) }
+        : board
+    )),
+  }
+}
+
+/**
+ * Delta d'etat (`GET /game/state/delta` ou message `STATE_DELTA`) : seul un
+ * instantane complet porte des cases, a decoder comme un etat.
+ */
+export function expandCompactDelta(delta) {
+  return delta?.fullSnapshot ? { ...delta, state: expandCompactBoards(delta.state) } : delta
+}
@@ -0,0 +1,42 @@
+import { describe, expect, it } from 'vitest'
+
+import { decodeBoardRle, expandCompactBoards, expandCompactDelta } from './boardEncoding'
+
+describe('decodeBoardRle', () => {
+  it('expands runs row by row', () => {
+    expect(decodeBoardRle('S2E2MHKE2', 3)).toEqual([
+      ['SHIP', 'SHIP', 'EMPTY'],
+      ['EMPTY', 'MISS', 'HIT'],
+      ['SUNK', 'EMPTY', 'EMPTY'],
+    ])
+  })
+})
+
+describe('expandCompactBoards', () => {
+  it('restores the legacy cells shape', () => {
+    const state = { boardSize: 2, boards: [{ boardId: 'A1', ownBoard: true, cellsRle: 'E3S' }] }
+    expect(expandCompactBoards(state).boards[0]).toEqual({
+      boardId: 'A1',
+      ownBoard: true,
+      cells: [['EMPTY', 'EMPTY'], ['EMPTY', 'SHIP']],
+    })
+  })
+
+  it('keeps legacy payloads untouched', () => {
+    const state = { boardSize: 1, boards: [{ boardId: 'A1', cells: [['EMPTY']] }] }
+    expect(expandCompactBoards(state)).toBe(state)
+  })
+})
+
+describe('expandCompactDelta', () => {
+  it('decodes the boards of a full snapshot only', () => {
+    const full = {
+      fullSnapshot: true,
+      state: { boardSize: 1, boards: [{ boardId: 'A1', cellsRle: 'M' }] },
+    }
+    expect(expandCompactDelta(full).state.boards[0].cells).toEqual([['MISS']])
+
+    const partial = { fullSnapshot: false, state: { boardSize: 1, boards: [] }, changes: [] }
+    expect(expandCompactDelta(partial)).toBe(partial)
+  })
+})
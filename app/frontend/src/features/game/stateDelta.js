@@ -0,0 +1,37 @@
+/**
+ * Application des reponses `GET /game/state/delta` sur l'etat de jeu local.
+ *
+ * Fonction pure : seules les lignes touchees par un delta sont recopiees, les
+ * autres gardent leur reference (pas de re-rendu inutile des plateaux).
+ */
+
+/**
+ * @param {object | null} previous etat complet actuellement affiche
+ * @param {{ fullSnapshot: boolean, state: object, changes: Array<{ boardId: string, x: number, y: number, state: string }> }} delta
+ * @returns {object} nouvel etat complet
+ */
+export function applyStateDelta(previous, delta) {
+  if (delta.fullSnapshot || !previous?.boards) {
+    return delta.state
+  }
+  const changesByBoard = new Map()
+  for (const change of delta.changes ?? []) {
+    const list = changesByBoard.get(change.boardId) ?? []
+    list.push(change)
+    changesByBoard.set(change.boardId, list)
+  }
+  const previousBoards = new Map(previous.boards.map((board) => [board.boardId, board]))
+  const boards = delta.state.boards.map((header) => {
+    const board = previousBoards.get(header.boardId)
+    if (!board) return header
+    const changes = changesByBoard.get(header.boardId)
+    if (!changes) return { ...header, cells: board.cells }
+    const cells = [...board.cells]
+    for (const { x, y, state } of changes) {
+      if (cells[y] === board.cells[y]) cells[y] = [...board.cells[y]]
+      cells[y][x] = state
+    }
+    return { ...header, cells }
+  })
+  return { ...delta.state, boards }
+}
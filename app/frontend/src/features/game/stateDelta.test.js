@@ -0,0 +1,40 @@
+import { describe, expect, it } from 'vitest'
+
+import { applyStateDelta } from './stateDelta'
+
+const previous = {
+  currentPlayer: 1,
+  boards: [
+    { boardId: 'A1', ownBoard: true, cells: [['SHIP', 'EMPTY'], ['EMPTY', 'EMPTY']] },
+    { boardId: 'B1', ownBoard: false, cells: [['EMPTY', 'EMPTY'], ['EMPTY', 'EMPTY']] },
+  ],
+}
+
+const header = (currentPlayer) => ({
+  currentPlayer,
+  boards: [
+    { boardId: 'A1', ownBoard: true, cells: [] },
+    { boardId: 'B1', ownBoard: false, cells: [] },
+  ],
+})
+
+describe('applyStateDelta', () => {
+  it('replaces the state on full snapshot', () => {
+    const full = { currentPlayer: 2, boards: [] }
+    expect(applyStateDelta(previous, { fullSnapshot: true, state: full, changes: [] })).toBe(full)
+  })
+
+  it('patches changed cells and keeps untouched rows', () => {
+    const next = applyStateDelta(previous, {
+      fullSnapshot: false,
+      state: header(2),
+      changes: [{ boardId: 'B1', x: 1, y: 0, state: 'MISS' }],
+    })
+
+    expect(next.currentPlayer).toBe(2)
+    expect(next.boards[1].cells[0]).toEqual(['EMPTY', 'MISS'])
+    expect(next.boards[1].cells[1]).toBe(previous.boards[1].cells[1])
+    expect(next.boards[0].cells).toBe(previous.boards[0].cells)
+    expect(previous.boards[1].cells[0][1]).toBe('EMPTY')
+  })
+})
@@ -152,9 +152,10 @@ function updateGameplaySync(current, patch) {
 /**
  * Encapsule l'etat du lobby WebSocket :
  * - traduit les messages WS (`GAME_CREATED`, `JOINED_GAME`, `PLAYER_COUNT_UPDATED`,
- *   `GAME_STARTED`, `GAME_STATE_UPDATE`, `ERROR`) en transitions d'etat,
- * - declenche la synchro HTTP reguliere (`LOBBY_SYNC_POLL_MS`) tant qu'on est
- *   dans un lobby et sur l'ecran de jeu.
+ *   `GAME_STARTED`, `STATE_DELTA`, `ERROR`) en transitions d'etat,
+ * - applique les deltas d'etat pousses par le serveur (`STATE_DELTA`) et ne
+ *   retombe sur la synchro HTTP reguliere (`LOBBY_SYNC_POLL_MS`) que si la
+ *   socket est coupee, dans un lobby et sur l'ecran de jeu.
  *
  * Les actions reseau elles-memes (`refreshStateAction`, `syncStateAction`,
  * `enterGameScreenWithState`) sont passees en parametre pour conserver leur
@@ -166,6 +167,9 @@ function updateGameplaySync(current, patch) {
  *   fallbackPlayerCount: number,
  *   refreshStateAction: (player: number, gameId: string | null) => Promise<unknown>,
  *   syncStateAction: (player: number, gameId: string | null) => Promise<unknown>,
+ *   applyPushedDeltaAction: (player: number, gameId: string | null, delta: object) => number | null,
+ *   requestStateSync: (since: number) => void,
+ *   wsConnected?: boolean,
  *   enterGameScreenWithState: (state: unknown, status?: string) => void,
  *   wsPlayerNumber?: number,
  *   onStatus: (message: string) => void,
@@ -177,6 +181,9 @@ export default function useLobbyState({
   fallbackPlayerCount,
   refreshStateAction,
   syncStateAction,
+  applyPushedDeltaAction,
+  requestStateSync,
+  wsConnected = false,
   enterGameScreenWithState,
   wsPlayerNumber = 1,
   onStatus,
@@ -245,25 +252,17 @@ export default function useLobbyState({
       }
       return
     }
-    if (wsMessage.type === 'GAME_STATE_UPDATE') {
-      setLobbyState((current) => {
-        if (
-          screen !== 'game'
-          || !current.inLobby
-          || !wsMessage.gameId
-          || wsMessage.gameId !== current.gameId
-        ) {
-          return current
-        }
-        syncStateAction(resolveLobbyPlayerNumber(current, wsPlayerNumber), wsMessage.gameId).catch(() => {})
-        return current
-      })
+    if (wsMessage.type === 'STATE_DELTA') {
+      const current = lobbyStateRef.current
+      if (screen !== 'game' || !current.inLobby || wsMessage.gameId !== current.gameId) return
+      const playerNumber = resolveLobbyPlayerNumber(current, wsPlayerNumber)
+      const resyncFrom = applyPushedDeltaAction(playerNumber, current.gameId, wsMessage.delta)
+      if (resyncFrom != null) requestStateSync(resyncFrom)
       return
     }
     if (wsMessage.type === 'TARGET_LOCKED') {
       setLobbyState((current) => {
         if (!current.inLobby || current.gameId !== wsMessage.gameId) return current
-        syncStateAction(resolveLobbyPlayerNumber(current, wsPlayerNumber), wsMessage.gameId).catch(() => {})
         return updateGameplaySync(current, {
           phaseStep: 'firing',
           shooter: wsMessage.shooter ?? null,
@@ -275,7 +274,6 @@ export default function useLobbyState({
     if (wsMessage.type === 'SHOT_RESOLVED') {
       setLobbyState((current) => {
         if (!current.inLobby || current.gameId !== wsMessage.gameId) return current
-        syncStateAction(resolveLobbyPlayerNumber(current, wsPlayerNumber), wsMessage.gameId).catch(() => {})
         return updateGameplaySync(current, {
           phaseStep: wsMessage.currentTargetPlayer ? 'firing' : 'target_selection',
           shooter: wsMessage.shooter ?? null,
@@ -350,6 +348,8 @@ export default function useLobbyState({
     fallbackPlayerCount,
     refreshStateAction,
     syncStateAction,
+    applyPushedDeltaAction,
+    requestStateSync,
     enterGameScreenWithState,
     enterLobbyGameIfReady,
     screen,
@@ -380,17 +380,17 @@ export default function useLobbyState({
     enterLobbyGameIfReady,
   ])
 
-  // Polling regulier de l'etat backend tant qu'on est dans un lobby et sur
-  // l'ecran de jeu (complement des messages WS).
+  // Repli HTTP tant que la socket est coupee : connectee, elle pousse l'etat
+  // (`STATE_DELTA`) apres chaque action.
   useEffect(() => {
-    if (screen !== 'game' || !lobbyState.inLobby) return undefined
+    if (screen !== 'game' || !lobbyState.inLobby || wsConnected) return undefined
     const lobbyScope = lobbyState.gameId ?? null
     const playerNumber = resolveLobbyPlayerNumber(lobbyState, wsPlayerNumber)
     const pollId = window.setInterval(() => {
       syncStateAction(playerNumber, lobbyScope).catch(() => {})
     }, LOBBY_SYNC_POLL_MS)
     return () => window.clearInterval(pollId)
-  }, [screen, lobbyState.inLobby, lobbyState.gameId, lobbyState.playerNumber, wsPlayerNumber, syncStateAction])
+  }, [screen, lobbyState.inLobby, lobbyState.gameId, lobbyState.playerNumber, wsPlayerNumber, wsConnected, syncStateAction])
 
   const resetLobby = useCallback(() => setLobbyState(INITIAL_LOBBY_STATE), [])
 
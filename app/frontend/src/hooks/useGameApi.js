@@ -1,8 +1,9 @@
-import { useCallback, useState } from 'react'
+import { useCallback, useRef, useState } from 'react'
 import {
   confirmPlacement,
   fireAt,
   getGameState,
+  getGameStateDelta,
   listSaves,
   loadGame,
   loadGameFromFile,
@@ -12,6 +13,8 @@ import {
   runAiStep,
   saveGame,
 } from '../api/gameApi'
+import { expandCompactDelta } from '../features/game/boardEncoding'
+import { applyStateDelta } from '../features/game/stateDelta'
 
 function warnIfEnemyShipLeaked(state) {
   if (!import.meta.env.DEV || !state?.boards || state.phase === 'GAME_OVER') return
@@ -26,6 +29,12 @@ function warnIfEnemyShipLeaked(state) {
   }
 }
 
+function normalizeLobbyScope(lobbyGameId) {
+  return lobbyGameId != null && String(lobbyGameId).trim() !== ''
+    ? String(lobbyGameId).trim()
+    : null
+}
+
 function applyGameState(setGameState, state) {
   warnIfEnemyShipLeaked(state)
   setGameState(state)
@@ -37,6 +46,8 @@ export default function useGameApi() {
   const [loading, setLoading] = useState(false)
   /** Partie HTTP ciblee par les appels API (null = session locale partagee). */
   const [activeLobbyGameId, setActiveLobbyGameId] = useState(null)
+  /** Derniere version synchronisee par delta, pour un couple (partie, joueur). */
+  const deltaCursorRef = useRef({ key: null, version: 0 })
 
   const clearActiveLobbyScope = useCallback(() => {
     setActiveLobbyGameId(null)
@@ -216,16 +227,41 @@ export default function useGameApi() {
     }
   }, [])
 
-  const syncStateAction = useCallback(async (player = 1, lobbyGameId = null) => {
-    const scopedId = lobbyGameId != null && String(lobbyGameId).trim() !== ''
-      ? String(lobbyGameId).trim()
-      : null
-    if (scopedId) setActiveLobbyGameId(scopedId)
-    const state = await getGameState(player, scopedId)
-    applyGameState(setGameState, state)
+  const applyDelta = useCallback((key, delta) => {
+    deltaCursorRef.current = { key, version: delta.version }
+    let state = delta.state
+    setGameState((previous) => {
+      state = applyStateDelta(previous, delta)
+      warnIfEnemyShipLeaked(state)
+      return state
+    })
     return state
   }, [])
 
+  const syncStateAction = useCallback(async (player = 1, lobbyGameId = null) => {
+    const scopedId = normalizeLobbyScope(lobbyGameId)
+    if (scopedId) setActiveLobbyGameId(scopedId)
+    const key = `${scopedId ?? ''}:${player}`
+    const cursor = deltaCursorRef.current
+    const since = cursor.key === key ? cursor.version : 0
+    const delta = await getGameStateDelta(player, scopedId, since)
+    return applyDelta(key, delta)
+  }, [applyDelta])
+
+  /**
+   * Applique un message WebSocket `STATE_DELTA`. Un delta qui ne part pas de la
+   * version locale est ignore : renvoie la version a demander via `SYNC_STATE`
+   * (null si le delta a ete applique).
+   */
+  const applyPushedDeltaAction = useCallback((player, lobbyGameId, pushedDelta) => {
+    const key = `${normalizeLobbyScope(lobbyGameId) ?? ''}:${player}`
+    const cursor = deltaCursorRef.current
+    const since = cursor.key === key ? cursor.version : 0
+    if (!pushedDelta.fullSnapshot && pushedDelta.sinceVersion !== since) return since
+    applyDelta(key, expandCompactDelta(pushedDelta))
+    return null
+  }, [applyDelta])
+
   const saveGameAction = useCallback(async (fileName, lobbyGameId = null) => {
     try {
       setLoading(true)
@@ -259,6 +295,7 @@ export default function useGameApi() {
     saveGameAction,
     refreshStateAction,
     syncStateAction,
+    applyPushedDeltaAction,
     runAiStepAction,
   }
 }
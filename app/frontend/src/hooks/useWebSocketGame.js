@@ -76,6 +76,10 @@ function useWebSocketGame() {
     ensureConnected()
     wsClient.send({ type: 'UPDATE_LOBBY_CONFIG', ...config })
   }, [ensureConnected])
+  /** Redemande l'etat pousse a partir de la version `since` appliquee localement. */
+  const requestStateSync = useCallback((since = 0) => {
+    wsClient.send({ type: 'SYNC_STATE', since })
+  }, [])
   const send = useCallback((obj) => wsClient.send(obj), [])
 
   return {
@@ -87,6 +91,7 @@ function useWebSocketGame() {
     startGame,
     leaveGame,
     updateLobbyConfig,
+    requestStateSync,
     send,
   }
 }